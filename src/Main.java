@@ -1,3 +1,6 @@
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
 import javax.swing.SwingUtilities;
 import util.*;
 import controller.*;
@@ -10,6 +13,10 @@ import view.*;
  * @version 1.0
  */
 public class Main {
+    /**
+     * Instante (System.nanoTime) en que se entró en {@link #main(String[])}.
+     */
+    private static long startNanos;
     
     /**
      * Punto de entrada de la aplicación.
@@ -19,6 +26,7 @@ public class Main {
      * @param args Argumentos de línea de comandos (no utilizados)
      */
     public static void main(String[] args) {
+        startNanos = System.nanoTime();
         SwingUtilities.invokeLater(() -> {
             try {
                 initializeApplication();
@@ -32,26 +40,28 @@ public class Main {
      * Inicializa todos los controladores y componentes principales de la aplicación.
      * Crea las instancias de los controladores necesarios y construye la interfaz gráfica principal.
      * 
-     * <p>Controladores inicializados:
+     * <p>Controladores inicializados al arrancar, necesarios para el inicio de sesión:
      * <ul>
      *   <li>AuthenticationController - Gestión de autenticación de usuarios</li>
-     *   <li>ContentController - Gestión de contenidos</li>
-     *   <li>CategoryController - Gestión de categorías</li>
-     *   <li>SearchController - Búsqueda de contenidos</li>
-     *   <li>ReportController - Generación de reportes</li>
      *   <li>NavigationController - Navegación entre paneles</li>
      * </ul>
+     * Los controladores de contenidos (ContentController, con su log de auditoría y su almacén de archivos,
+     * CategoryController, SearchController y ReportController) se crean la primera vez
+     * que un panel los necesita.
      * </p>
+     *
+     * <p>Al mostrarse la pantalla de inicio de sesión se registra el tiempo de arranque,
+     * medido desde la entrada en {@code main} y desde el inicio de la JVM.</p>
      * 
      * @throws Exception Si ocurre un error durante la inicialización
      */
     private static void initializeApplication() {
         AuthenticationController authController = new AuthenticationController();
-        ContentController contentController = new ContentController();
-        CategoryController categoryController = new CategoryController();
-        SearchController searchController = new SearchController(contentController);
-        ReportController reportController = new ReportController(contentController);
-        NavigationController navigationController = new NavigationController();
+        NavigationController navigationController = new NavigationController(authController);
+        Lazy<ContentController> contentController = new Lazy<>(Main::createContentController);
+        Lazy<CategoryController> categoryController = new Lazy<>(() -> new CategoryController(contentController.get()));
+        Lazy<SearchController> searchController = new Lazy<>(() -> new SearchController(contentController.get(), categoryController.get()));
+        Lazy<ReportController> reportController = new Lazy<>(() -> new ReportController(contentController.get()));
 
         Logger.info("Aplicación CMS iniciada");
         Logger.info("Cargando componentes principales");
@@ -67,5 +77,54 @@ public class Main {
 
         mainFrame.setVisible(true);
         Logger.info("Interfaz gráfica lista");
+        // Se mide en el siguiente turno del EDT, después de que se pinte la ventana
+        SwingUtilities.invokeLater(() -> Logger.info(String.format(
+                "Pantalla de inicio de sesión lista en %d ms (%d ms desde el inicio de la JVM)",
+                (System.nanoTime() - startNanos) / 1_000_000,
+                ManagementFactory.getRuntimeMXBean().getUptime())));
+    }
+
+    /**
+     * Crea el controlador de contenidos y le asocia el log de auditoría y el almacén
+     * de archivos. Si alguno no puede abrirse, el controlador funciona sin él.
+     * Ambos se cierran al terminar la JVM, de modo que los segmentos proyectados del log
+     * y el diario de referencias quedan escritos en disco.
+     *
+     * @return controlador de contenidos
+     */
+    private static ContentController createContentController() {
+        ContentController contentController = new ContentController();
+        try {
+            AuditLog auditLog = new AuditLog(Paths.get(System.getProperty("cms.audit.file", "data/audit.log")));
+            contentController.setAuditLog(auditLog);
+            closeOnShutdown(auditLog, "el log de auditoría");
+        } catch (IOException e) {
+            Logger.error("No se pudo abrir el log de auditoría: " + e.getMessage());
+        }
+        try {
+            BlobStore blobStore = new BlobStore(Paths.get(System.getProperty("cms.blobs.dir", "data/blobs")));
+            contentController.setBlobStore(blobStore);
+            closeOnShutdown(blobStore, "el almacén de archivos");
+        } catch (IOException e) {
+            Logger.error("No se pudo abrir el almacén de archivos: " + e.getMessage());
+        }
+        return contentController;
+    }
+
+    /**
+     * Registra un gancho de apagado que cierra el recurso, igual que {@link Logger}
+     * vacía su cola al terminar la JVM.
+     *
+     * @param resource recurso a cerrar
+     * @param description descripción del recurso para el mensaje de error
+     */
+    private static void closeOnShutdown(AutoCloseable resource, String description) {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                resource.close();
+            } catch (Exception e) {
+                Logger.error("No se pudo cerrar " + description + ": " + e.getMessage());
+            }
+        }, "resource-close"));
     }
 }
\ No newline at end of file
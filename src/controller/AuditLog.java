@@ -0,0 +1,301 @@
+package controller;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import model.AuditRecord;
+import model.User;
+import model.enums.AuditAction;
+/**
+ * Log de auditoría binario y de sólo anexado de las modificaciones de contenidos.
+ * Cada acción se guarda como un registro de 64 bytes de formato fijo en un archivo
+ * proyectado en memoria por segmentos de 1 MiB:
+ * <pre>
+ *   0  long   instante (ms desde la época Unix, no decreciente)
+ *   8  int    ordinal del usuario
+ *  12  short  código de la acción ({@link AuditAction})
+ *  14  short  longitud del ID de contenido en bytes
+ *  16  byte[48] ID de contenido en UTF-8 (truncado a 48 bytes)
+ * </pre>
+ * El primer bloque de 64 bytes es una cabecera con el identificador del formato.
+ * Los ordinales de usuario se asignan en un diccionario propio que se persiste junto al
+ * log ({@code <archivo>.users}, un ID por línea) y nunca se reutilizan, de modo que
+ * siguen identificando al mismo usuario entre ejecuciones.
+ *
+ * <p>Como los instantes no decrecen, una consulta por rango de tiempo localiza el inicio
+ * con búsqueda binaria y recorre sólo los registros del rango, comparando enteros sin
+ * decodificar los que no coinciden con el usuario buscado.</p>
+ */
+
+public class AuditLog implements AutoCloseable {
+    /**
+     * Tamaño de cada registro, en bytes.
+     */
+    public static final int RECORD_SIZE = 64;
+    private static final int MAX_ID_BYTES = RECORD_SIZE - 16;
+    private static final int RECORDS_PER_SEGMENT = 16_384;
+    private static final long SEGMENT_BYTES = (long) RECORD_SIZE * RECORDS_PER_SEGMENT;
+    private static final byte[] MAGIC = "CMSAUDT1".getBytes(StandardCharsets.US_ASCII);
+
+    private final FileChannel channel;
+    private final BufferedWriter usersWriter;
+    private final Map<String, Integer> userOrdinals;
+    private final List<String> userIds;
+    private volatile MappedByteBuffer[] segments;
+    /**
+     * Número de registros escritos; los registros por debajo de este valor son legibles.
+     */
+    private volatile long count;
+    private long lastTimestamp;
+    /**
+     * Abre (o crea) un log de auditoría.
+     * @param file ruta del archivo del log
+     * @throws IOException si el archivo no puede abrirse o no tiene el formato esperado
+     */
+
+    public AuditLog(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        Path usersFile = file.resolveSibling(file.getFileName() + ".users");
+        this.userOrdinals = new HashMap<>();
+        this.userIds = new ArrayList<>();
+        if (Files.exists(usersFile)) {
+            for (String id : Files.readAllLines(usersFile, StandardCharsets.UTF_8)) {
+                if (!id.isEmpty()) {
+                    userOrdinals.put(id, userIds.size());
+                    userIds.add(id);
+                }
+            }
+        }
+        this.usersWriter = Files.newBufferedWriter(usersFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.segments = new MappedByteBuffer[0];
+        openExisting();
+    }
+    /**
+     * Registra una acción sobre un contenido.
+     * @param actor usuario que realizó la acción
+     * @param action acción realizada
+     * @param contentId ID del contenido afectado
+     */
+
+    public void record(User actor, AuditAction action, String contentId) {
+        record(actor.getId(), action, contentId);
+    }
+    /**
+     * Registra una acción sobre un contenido.
+     * @param userId ID del usuario que realizó la acción
+     * @param action acción realizada
+     * @param contentId ID del contenido afectado
+     * @throws IllegalStateException si el log no puede ampliarse
+     */
+
+    public synchronized void record(String userId, AuditAction action, String contentId) {
+        long index = count;
+        ByteBuffer segment;
+        try {
+            segment = segmentFor(index);
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo ampliar el log de auditoría: " + e.getMessage(), e);
+        }
+        long timestamp = Math.max(System.currentTimeMillis(), lastTimestamp);
+        byte[] id = truncate(contentId.getBytes(StandardCharsets.UTF_8));
+        int offset = (int) ((index % RECORDS_PER_SEGMENT) * RECORD_SIZE);
+        segment.putInt(offset + 8, ordinalOf(userId));
+        segment.putShort(offset + 12, (short) action.ordinal());
+        segment.putShort(offset + 14, (short) id.length);
+        segment.put(offset + 16, id);
+        // El instante se escribe al final: un registro con instante 0 aún no está completo
+        segment.putLong(offset, timestamp);
+        lastTimestamp = timestamp;
+        count = index + 1;
+    }
+    /**
+     * Obtiene las acciones realizadas en un intervalo, opcionalmente de un único usuario.
+     * @param userId ID del usuario, o null para incluir a todos
+     * @param from inicio del intervalo (inclusivo)
+     * @param to fin del intervalo (inclusivo)
+     * @return registros del intervalo en orden cronológico
+     */
+
+    public List<AuditRecord> query(String userId, LocalDateTime from, LocalDateTime to) {
+        ZoneId zone = ZoneId.systemDefault();
+        return query(userId, from.atZone(zone).toInstant().toEpochMilli(), to.atZone(zone).toInstant().toEpochMilli());
+    }
+    /**
+     * Obtiene las acciones realizadas en un intervalo, opcionalmente de un único usuario.
+     * @param userId ID del usuario, o null para incluir a todos
+     * @param fromMillis inicio del intervalo en ms desde la época Unix (inclusivo)
+     * @param toMillis fin del intervalo en ms desde la época Unix (inclusivo)
+     * @return registros del intervalo en orden cronológico
+     */
+
+    public List<AuditRecord> query(String userId, long fromMillis, long toMillis) {
+        List<AuditRecord> result = new ArrayList<>();
+        int userOrdinal;
+        String[] names;
+        synchronized (this) {
+            userOrdinal = userId == null ? -1 : userOrdinals.getOrDefault(userId, -2);
+            names = userIds.toArray(new String[0]);
+        }
+        if (userOrdinal == -2) {
+            return result;
+        }
+        // count se lee antes que segments: su escritura publica los segmentos que cubre
+        long end = count;
+        MappedByteBuffer[] mapped = segments;
+        for (long i = firstAtOrAfter(mapped, end, fromMillis); i < end; i++) {
+            ByteBuffer segment = mapped[(int) (i / RECORDS_PER_SEGMENT)];
+            int offset = (int) ((i % RECORDS_PER_SEGMENT) * RECORD_SIZE);
+            long timestamp = segment.getLong(offset);
+            if (timestamp > toMillis) {
+                break;
+            }
+            int ordinal = segment.getInt(offset + 8);
+            if (userOrdinal >= 0 && ordinal != userOrdinal) {
+                continue;
+            }
+            byte[] id = new byte[segment.getShort(offset + 14)];
+            segment.get(offset + 16, id);
+            result.add(new AuditRecord(timestamp,
+                    ordinal < names.length ? names[ordinal] : null,
+                    AuditAction.fromCode(segment.getShort(offset + 12)),
+                    new String(id, StandardCharsets.UTF_8)));
+        }
+        return result;
+    }
+    /**
+     * Obtiene el número de registros del log.
+     * @return número de registros
+     */
+
+    public long size() {
+        return count;
+    }
+    /**
+     * Fuerza la escritura a disco de los registros y del diccionario de usuarios.
+     * @throws IOException si ocurre un error de escritura
+     */
+
+    public synchronized void sync() throws IOException {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+        usersWriter.flush();
+    }
+    /**
+     * Sincroniza y cierra el log.
+     * @throws IOException si ocurre un error de escritura
+     */
+
+    @Override
+    public synchronized void close() throws IOException {
+        sync();
+        usersWriter.close();
+        channel.close();
+    }
+
+    private int ordinalOf(String userId) {
+        Integer ordinal = userOrdinals.get(userId);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        ordinal = userIds.size();
+        userOrdinals.put(userId, ordinal);
+        userIds.add(userId);
+        try {
+            usersWriter.write(userId);
+            usersWriter.newLine();
+            usersWriter.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo registrar el usuario en el log de auditoría: " + e.getMessage(), e);
+        }
+        return ordinal;
+    }
+    /**
+     * Valida la cabecera, proyecta los segmentos existentes y localiza el final del log.
+     */
+
+    private void openExisting() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(RECORD_SIZE);
+        if (channel.size() == 0) {
+            header.put(MAGIC).putInt(RECORD_SIZE).flip();
+            channel.write(header, 0);
+            return;
+        }
+        channel.read(header, 0);
+        byte[] magic = Arrays.copyOf(header.array(), MAGIC.length);
+        if (!Arrays.equals(magic, MAGIC) || header.getInt(MAGIC.length) != RECORD_SIZE) {
+            throw new IOException("El archivo no es un log de auditoría válido");
+        }
+        int existing = (int) ((channel.size() - RECORD_SIZE + SEGMENT_BYTES - 1) / SEGMENT_BYTES);
+        MappedByteBuffer[] mapped = new MappedByteBuffer[existing];
+        for (int i = 0; i < existing; i++) {
+            mapped[i] = map(i);
+        }
+        segments = mapped;
+        // Los registros escritos tienen instante distinto de cero; el resto del segmento está a cero
+        long capacity = (long) existing * RECORDS_PER_SEGMENT;
+        long low = 0;
+        long high = capacity;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (timestampAt(mapped, mid) != 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        count = low;
+        lastTimestamp = low == 0 ? 0 : timestampAt(mapped, low - 1);
+    }
+
+    private ByteBuffer segmentFor(long index) throws IOException {
+        int segment = (int) (index / RECORDS_PER_SEGMENT);
+        MappedByteBuffer[] mapped = segments;
+        if (segment < mapped.length) {
+            return mapped[segment];
+        }
+        MappedByteBuffer[] grown = Arrays.copyOf(mapped, segment + 1);
+        grown[segment] = map(segment);
+        segments = grown;
+        return grown[segment];
+    }
+
+    private MappedByteBuffer map(int segment) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_WRITE, RECORD_SIZE + segment * SEGMENT_BYTES, SEGMENT_BYTES);
+    }
+
+    private static long timestampAt(MappedByteBuffer[] mapped, long index) {
+        return mapped[(int) (index / RECORDS_PER_SEGMENT)].getLong((int) ((index % RECORDS_PER_SEGMENT) * RECORD_SIZE));
+    }
+
+    private static long firstAtOrAfter(MappedByteBuffer[] mapped, long end, long fromMillis) {
+        long low = 0;
+        long high = end;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (timestampAt(mapped, mid) < fromMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static byte[] truncate(byte[] id) {
+        return id.length <= MAX_ID_BYTES ? id : Arrays.copyOf(id, MAX_ID_BYTES);
+    }
+}
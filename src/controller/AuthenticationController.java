@@ -1,6 +1,7 @@
 package controller;
 import java.util.*;
 import model.User;
+import model.UserDirectory;
 import model.enums.UserRole;
 /**
  * Controlador responsable de gestionar la autenticación y administración de usuarios.
@@ -9,15 +10,20 @@ import model.enums.UserRole;
 
 public class AuthenticationController {
     /**
-     * Mapa que almacena los usuarios registrados, identificados por su ID.
+     * Directorio de usuarios registrados, indexado por ID y por nombre de usuario.
      */
-    private final Map<String, User> users;
+    private final UserDirectory users;
+    /**
+     * Gestor de las sesiones abiertas por los usuarios autenticados.
+     */
+    private final SessionManager sessionManager;
     /**
      * Constructor que inicializa el controlador con un conjunto de usuarios predeterminados.
      */
 
     public AuthenticationController() {
-        this.users = new HashMap<>();
+        this.users = new UserDirectory();
+        this.sessionManager = new SessionManager(this::getUserById);
         initializeDefaultUsers();
     }
     /**
@@ -25,17 +31,17 @@ public class AuthenticationController {
      */
 
     private void initializeDefaultUsers() {
-        users.put("admin1", new User("a0001", "admin1", "admin@ega.edu", UserRole.ADMIN));
-        users.put("editor1", new User("e0001", "editor1", "editor@ega.edu", UserRole.EDITOR));
-        users.put("visitor1", new User("v0001", "visitor1", "visitor@ega.edu", UserRole.VISITOR));
+        users.add(new User("a0001", "admin1", "admin@ega.edu", UserRole.ADMIN));
+        users.add(new User("e0001", "editor1", "editor@ega.edu", UserRole.EDITOR));
+        users.add(new User("v0001", "visitor1", "visitor@ega.edu", UserRole.VISITOR));
     }
     /**
-     * Permite iniciar sesión con un nombre de usuario.
+     * Permite iniciar sesión con un nombre de usuario (sin distinguir mayúsculas de minúsculas).
      * @param username nombre de usuario a autenticar
      * @return el usuario si existe, null en caso contrario
      */
     public User login(String username) {
-        return users.getOrDefault(username, null);
+        return users.getByUsername(username);
     }
     /**
      * Crea un nuevo usuario y lo agrega al mapa de usuarios registrados.
@@ -44,13 +50,23 @@ public class AuthenticationController {
      * @param email correo electrónico
      * @param role rol asignado al usuario
      * @return el usuario creado
+     * @throws IllegalArgumentException si el ID o el nombre de usuario ya están registrados
      */
 
     public User createUser(String id, String username, String email, UserRole role) {
         User user = new User(id, username, email, role);
-        users.put(id, user);
+        users.add(user);
         return user;
     }
+    /**
+     * Registra un lote de usuarios ya construidos en una sola operación.
+     * @param batch usuarios a registrar
+     * @return usuarios rechazados por ID o nombre de usuario duplicado
+     */
+
+    public List<User> createUsers(Collection<User> batch) {
+        return users.addAll(batch);
+    }
     /**
      * Obtiene un usuario a partir de su identificador.
      * @param id ID del usuario
@@ -58,7 +74,7 @@ public class AuthenticationController {
      */
 
     public User getUserById(String id) {
-        return users.get(id);
+        return users.getById(id);
     }
     /**
      * Obtiene la lista completa de usuarios registrados.
@@ -66,7 +82,34 @@ public class AuthenticationController {
      */
 
     public List<User> getAllUsers() {
-        return new ArrayList<>(users.values());
+        return users.getAll();
+    }
+    /**
+     * Obtiene el ordinal entero denso de un usuario, para indexar arreglos o bitmaps.
+     * El ordinal de un usuario eliminado puede reasignarse a otro.
+     * @param id ID del usuario
+     * @return ordinal del usuario, o -1 si no existe
+     */
+
+    public int getUserOrdinal(String id) {
+        return users.ordinalOf(id);
+    }
+    /**
+     * Obtiene el usuario que tiene asignado un ordinal.
+     * @param ordinal ordinal del usuario
+     * @return usuario correspondiente o null si el ordinal está libre
+     */
+
+    public User getUserByOrdinal(int ordinal) {
+        return users.getByOrdinal(ordinal);
+    }
+    /**
+     * Obtiene el límite superior exclusivo de los ordinales de usuario.
+     * @return tamaño necesario para un arreglo indexado por ordinal de usuario
+     */
+
+    public int getUserOrdinalCapacity() {
+        return users.ordinalCapacity();
     }
     /**
      * Actualiza el rol de un usuario existente.
@@ -75,9 +118,10 @@ public class AuthenticationController {
      */
 
     public void updateUserRole(String userId, UserRole newRole) {
-        User user = users.get(userId);
+        User user = users.getById(userId);
         if (user != null) {
             user.setRole(newRole);
+            sessionManager.invalidateUser(userId);
         }
     }
     /**
@@ -87,5 +131,40 @@ public class AuthenticationController {
 
     public void deleteUser(String userId) {
         users.remove(userId);
+        sessionManager.invalidateUser(userId);
+    }
+    /**
+     * Abre una sesión para un usuario autenticado.
+     * @param user usuario que inició sesión
+     * @return token opaco de la sesión
+     */
+
+    public String openSession(User user) {
+        return sessionManager.openSession(user);
+    }
+    /**
+     * Valida un token de sesión y renueva su plazo de inactividad.
+     * @param token token de la sesión
+     * @return usuario de la sesión, o null si no existe o expiró
+     */
+
+    public User validateSession(String token) {
+        return sessionManager.validate(token);
+    }
+    /**
+     * Cierra una sesión abierta.
+     * @param token token de la sesión
+     */
+
+    public void closeSession(String token) {
+        sessionManager.closeSession(token);
+    }
+    /**
+     * Obtiene el gestor de sesiones del controlador.
+     * @return gestor de sesiones
+     */
+
+    public SessionManager getSessionManager() {
+        return sessionManager;
     }
 }
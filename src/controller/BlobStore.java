@@ -0,0 +1,528 @@
+package controller;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Stream;
+/**
+ * Almacén local de archivos multimedia direccionado por contenido.
+ * Cada archivo (blob) se identifica por el SHA-256 de sus bytes y se guarda troceado en
+ * bloques de 4 MiB, identificados a su vez por su propio SHA-256. Los bloques idénticos
+ * se guardan una sola vez, aunque aparezcan en varios archivos o varias veces en el mismo.
+ * <pre>
+ *   chunks/ab/abcdef...    bloque de datos
+ *   blobs/12/1234ab...     manifiesto: tamaño total y hashes de los bloques, uno por línea
+ *   refs.log               diario de referencias: "+ blob contenido" / "- blob contenido"
+ * </pre>
+ * Al ingerir un archivo cada bloque se proyecta en memoria para calcular los hashes sin
+ * copiarlo al heap, y sólo los bloques nuevos se copian al almacén con
+ * {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}.
+ *
+ * <p>Cada blob lleva la cuenta de los contenidos que lo referencian; cuando deja de
+ * tener referencias se elimina su manifiesto y los bloques que ya no usa ningún otro blob.
+ * Las referencias se persisten en un diario de sólo anexado que se reproduce al abrir.
+ * Cuando el diario supera el doble de las referencias vigentes (y un mínimo de
+ * {@value #COMPACT_MIN_LINES} líneas) se reescribe con sólo esas referencias.</p>
+ */
+
+public class BlobStore implements AutoCloseable {
+    /**
+     * Tamaño de los bloques en bytes.
+     */
+    public static final int CHUNK_SIZE = 4 * 1024 * 1024;
+    /**
+     * Número mínimo de líneas del diario de referencias antes de compactarlo.
+     */
+    private static final int COMPACT_MIN_LINES = 1024;
+
+    private final Path chunksDir;
+    private final Path blobsDir;
+    private final Path refsFile;
+    private BufferedWriter refsWriter;
+    /**
+     * Bloques de cada blob registrado.
+     */
+    private final Map<String, Manifest> manifests;
+    /**
+     * Número de apariciones de cada bloque en los manifiestos registrados.
+     */
+    private final Map<String, Integer> chunkRefs;
+    /**
+     * Contenidos que referencian cada blob.
+     */
+    private final Map<String, Set<String>> references;
+    /**
+     * Número total de referencias vigentes, sumando todos los blobs.
+     */
+    private long referenceCount;
+    /**
+     * Número de líneas del diario de referencias.
+     */
+    private long journalLines;
+    private long storedBytes;
+    /**
+     * Abre (o crea) un almacén en un directorio.
+     * @param root directorio del almacén
+     * @throws IOException si el directorio o sus índices no pueden leerse
+     */
+
+    public BlobStore(Path root) throws IOException {
+        this.chunksDir = root.resolve("chunks");
+        this.blobsDir = root.resolve("blobs");
+        Files.createDirectories(chunksDir);
+        Files.createDirectories(blobsDir);
+        this.manifests = new HashMap<>();
+        this.chunkRefs = new HashMap<>();
+        this.references = new HashMap<>();
+        loadManifests();
+        this.refsFile = root.resolve("refs.log");
+        if (Files.exists(refsFile)) {
+            List<String> lines = Files.readAllLines(refsFile, StandardCharsets.UTF_8);
+            replayReferences(lines);
+            journalLines = lines.size();
+        }
+        if (journalNeedsCompaction()) {
+            compactJournal();
+        } else {
+            this.refsWriter = openJournal();
+        }
+    }
+    /**
+     * Ingiere un archivo y lo asocia a un contenido. El blob se registra y se le añade la
+     * referencia en un mismo paso, de modo que una liberación concurrente de su última
+     * referencia no puede eliminarlo entre ambos.
+     * @param file archivo a ingerir
+     * @param contentId ID del contenido que lo referencia
+     * @return hash SHA-256 del archivo (64 caracteres hexadecimales)
+     * @throws IOException si el archivo no puede leerse o el almacén no puede escribirse
+     */
+
+    public String ingest(Path file, String contentId) throws IOException {
+        return put(file, contentId);
+    }
+    /**
+     * Ingiere un archivo sin asociarlo a ningún contenido. Un blob sin referencias se
+     * conserva hasta que se le añade y se le retira alguna.
+     * @param file archivo a ingerir
+     * @return hash SHA-256 del archivo
+     * @throws IOException si el archivo no puede leerse o el almacén no puede escribirse
+     */
+
+    public String put(Path file) throws IOException {
+        return put(file, null);
+    }
+
+    private String put(Path file, String contentId) throws IOException {
+        MessageDigest fileDigest = sha256();
+        MessageDigest chunkDigest = sha256();
+        List<String> chunks = new ArrayList<>();
+        try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = source.size();
+            for (long offset = 0; offset < size; offset += CHUNK_SIZE) {
+                long length = Math.min(CHUNK_SIZE, size - offset);
+                MappedByteBuffer chunk = source.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                fileDigest.update(chunk.duplicate());
+                chunkDigest.update(chunk);
+                String chunkHash = hex(chunkDigest.digest());
+                chunks.add(chunkHash);
+                if (!Files.exists(chunkPath(chunkHash))) {
+                    writeChunk(source, offset, length, chunkHash);
+                }
+            }
+            String hash = hex(fileDigest.digest());
+            register(hash, new Manifest(size, chunks), source, contentId);
+            return hash;
+        }
+    }
+    /**
+     * Registra que un contenido referencia un blob.
+     * @param hash hash del blob
+     * @param contentId ID del contenido
+     * @throws IllegalArgumentException si el blob no existe
+     */
+
+    public synchronized void addReference(String hash, String contentId) {
+        if (!manifests.containsKey(hash)) {
+            throw new IllegalArgumentException("Blob no encontrado: " + hash);
+        }
+        if (references.computeIfAbsent(hash, h -> new HashSet<>()).add(contentId)) {
+            referenceCount++;
+            journal('+', hash, contentId);
+        }
+    }
+    /**
+     * Retira la referencia de un contenido a un blob. Si el blob se queda sin referencias,
+     * se elimina junto con los bloques que no compartía con otros blobs.
+     * @param hash hash del blob
+     * @param contentId ID del contenido
+     */
+
+    public synchronized void release(String hash, String contentId) {
+        Set<String> holders = references.get(hash);
+        if (holders == null || !holders.remove(contentId)) {
+            return;
+        }
+        referenceCount--;
+        journal('-', hash, contentId);
+        if (holders.isEmpty()) {
+            references.remove(hash);
+            delete(hash);
+        }
+    }
+    /**
+     * Indica si el almacén contiene un blob.
+     * @param hash hash del blob
+     * @return true si el blob está registrado
+     */
+
+    public synchronized boolean contains(String hash) {
+        return manifests.containsKey(hash);
+    }
+    /**
+     * Obtiene el número de contenidos que referencian un blob.
+     * @param hash hash del blob
+     * @return número de referencias
+     */
+
+    public synchronized int getReferenceCount(String hash) {
+        Set<String> holders = references.get(hash);
+        return holders == null ? 0 : holders.size();
+    }
+    /**
+     * Obtiene el tamaño original de un blob.
+     * @param hash hash del blob
+     * @return tamaño en bytes
+     * @throws IllegalArgumentException si el blob no existe
+     */
+
+    public synchronized long getSize(String hash) {
+        return manifest(hash).size;
+    }
+    /**
+     * Reconstruye un blob en un archivo, copiando sus bloques con {@code transferTo}.
+     * @param hash hash del blob
+     * @param target archivo de destino (se sobrescribe)
+     * @throws IOException si el destino no puede escribirse o falta algún bloque
+     * @throws IllegalArgumentException si el blob no existe
+     */
+
+    public void export(String hash, Path target) throws IOException {
+        List<String> chunks;
+        synchronized (this) {
+            chunks = manifest(hash).chunks;
+        }
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (String chunk : chunks) {
+                try (FileChannel in = FileChannel.open(chunkPath(chunk), StandardOpenOption.READ)) {
+                    transfer(in, 0, in.size(), out);
+                }
+            }
+        }
+    }
+    /**
+     * Obtiene el número de blobs registrados.
+     * @return número de blobs
+     */
+
+    public synchronized int getBlobCount() {
+        return manifests.size();
+    }
+    /**
+     * Obtiene el número de bloques distintos guardados.
+     * @return número de bloques
+     */
+
+    public synchronized int getChunkCount() {
+        return chunkRefs.size();
+    }
+    /**
+     * Obtiene los bytes ocupados por los bloques guardados, sin contar duplicados.
+     * @return bytes en disco de los bloques
+     */
+
+    public synchronized long getStoredBytes() {
+        return storedBytes;
+    }
+    /**
+     * Obtiene la suma de los tamaños originales de los blobs registrados.
+     * @return bytes que ocuparían los blobs sin deduplicar
+     */
+
+    public synchronized long getLogicalBytes() {
+        long total = 0;
+        for (Manifest manifest : manifests.values()) {
+            total += manifest.size;
+        }
+        return total;
+    }
+    /**
+     * Fuerza la escritura del diario de referencias y lo cierra.
+     * @throws IOException si ocurre un error de escritura
+     */
+
+    @Override
+    public synchronized void close() throws IOException {
+        refsWriter.close();
+    }
+    /**
+     * Registra el manifiesto de un blob recién ingerido y, si se indica, la referencia
+     * del contenido que lo ingirió. Un bloque que ya existía al ingerir puede haberse
+     * borrado entretanto al liberar otro blob; en ese caso se vuelve a copiar desde el origen.
+     */
+
+    private synchronized void register(String hash, Manifest manifest, FileChannel source, String contentId) throws IOException {
+        if (!manifests.containsKey(hash)) {
+            writeManifest(hash, manifest, source);
+        }
+        if (contentId != null) {
+            addReference(hash, contentId);
+        }
+    }
+
+    private void writeManifest(String hash, Manifest manifest, FileChannel source) throws IOException {
+        for (int i = 0; i < manifest.chunks.size(); i++) {
+            String chunk = manifest.chunks.get(i);
+            if (!chunkRefs.containsKey(chunk) && !Files.exists(chunkPath(chunk))) {
+                writeChunk(source, (long) i * CHUNK_SIZE, manifest.chunkLength(i), chunk);
+            }
+        }
+        Path path = manifestPath(hash);
+        Files.createDirectories(path.getParent());
+        List<String> lines = new ArrayList<>(manifest.chunks.size() + 1);
+        lines.add(Long.toString(manifest.size));
+        lines.addAll(manifest.chunks);
+        Path temp = Files.createTempFile(blobsDir, "manifest", ".tmp");
+        Files.write(temp, lines, StandardCharsets.US_ASCII);
+        move(temp, path);
+        addManifest(hash, manifest);
+    }
+
+    private void addManifest(String hash, Manifest manifest) {
+        manifests.put(hash, manifest);
+        for (int i = 0; i < manifest.chunks.size(); i++) {
+            if (chunkRefs.merge(manifest.chunks.get(i), 1, Integer::sum) == 1) {
+                storedBytes += manifest.chunkLength(i);
+            }
+        }
+    }
+    /**
+     * Elimina el manifiesto de un blob y los bloques que dejan de estar referenciados.
+     * Los errores de borrado sólo dejan archivos huérfanos; los índices en memoria se
+     * actualizan igualmente.
+     */
+
+    private void delete(String hash) {
+        Manifest manifest = manifests.remove(hash);
+        if (manifest == null) {
+            return;
+        }
+        deleteQuietly(manifestPath(hash));
+        for (int i = 0; i < manifest.chunks.size(); i++) {
+            String chunk = manifest.chunks.get(i);
+            Integer remaining = chunkRefs.merge(chunk, -1, Integer::sum);
+            if (remaining != null && remaining <= 0) {
+                chunkRefs.remove(chunk);
+                storedBytes -= manifest.chunkLength(i);
+                deleteQuietly(chunkPath(chunk));
+            }
+        }
+    }
+    /**
+     * Copia un bloque del archivo de origen a un temporal y lo mueve a su ruta definitiva,
+     * de modo que nunca queda visible un bloque a medio escribir.
+     */
+
+    private void writeChunk(FileChannel source, long offset, long length, String chunkHash) throws IOException {
+        Path target = chunkPath(chunkHash);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), "chunk", ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            transfer(source, offset, length, out);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw e;
+        }
+        move(temp, target);
+    }
+
+    private static void transfer(FileChannel source, long offset, long length, FileChannel target) throws IOException {
+        long done = 0;
+        while (done < length) {
+            long copied = source.transferTo(offset + done, length - done, target);
+            if (copied <= 0) {
+                throw new IOException("Copia incompleta: " + done + " de " + length + " bytes");
+            }
+            done += copied;
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // Se deja el archivo huérfano
+        }
+    }
+
+    private void loadManifests() throws IOException {
+        try (Stream<Path> files = Files.walk(blobsDir)) {
+            Iterator<Path> iterator = files.filter(p -> Files.isRegularFile(p) && !p.toString().endsWith(".tmp")).iterator();
+            while (iterator.hasNext()) {
+                Path path = iterator.next();
+                List<String> lines = Files.readAllLines(path, StandardCharsets.US_ASCII);
+                if (lines.isEmpty()) {
+                    continue;
+                }
+                long size = Long.parseLong(lines.get(0).trim());
+                addManifest(path.getFileName().toString(), new Manifest(size, new ArrayList<>(lines.subList(1, lines.size()))));
+            }
+        }
+    }
+
+    private void replayReferences(List<String> lines) {
+        for (String line : lines) {
+            String[] parts = line.split(" ", 3);
+            if (parts.length != 3 || !manifests.containsKey(parts[1])) {
+                continue;
+            }
+            if (parts[0].equals("+")) {
+                if (references.computeIfAbsent(parts[1], h -> new HashSet<>()).add(parts[2])) {
+                    referenceCount++;
+                }
+            } else {
+                Set<String> holders = references.get(parts[1]);
+                if (holders != null && holders.remove(parts[2])) {
+                    referenceCount--;
+                    if (holders.isEmpty()) {
+                        references.remove(parts[1]);
+                    }
+                }
+            }
+        }
+    }
+
+    private void journal(char op, String hash, String contentId) {
+        try {
+            refsWriter.write(op + " " + hash + " " + contentId);
+            refsWriter.newLine();
+            refsWriter.flush();
+            journalLines++;
+            if (journalNeedsCompaction()) {
+                compactJournal();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo registrar la referencia al blob: " + e.getMessage(), e);
+        }
+    }
+
+    private boolean journalNeedsCompaction() {
+        return journalLines > COMPACT_MIN_LINES && journalLines > 2 * referenceCount;
+    }
+    /**
+     * Reescribe el diario de referencias con una línea por referencia vigente. El diario
+     * nuevo se escribe en un temporal y sustituye al anterior con un movimiento atómico,
+     * por lo que una interrupción deja uno de los dos completo.
+     */
+
+    private void compactJournal() throws IOException {
+        Path temp = Files.createTempFile(refsFile.getParent(), "refs", ".tmp");
+        long lines = 0;
+        try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Set<String>> entry : references.entrySet()) {
+                for (String contentId : entry.getValue()) {
+                    out.write("+ " + entry.getKey() + " " + contentId);
+                    out.newLine();
+                    lines++;
+                }
+            }
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw e;
+        }
+        if (refsWriter != null) {
+            refsWriter.close();
+        }
+        try {
+            move(temp, refsFile);
+            journalLines = lines;
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw e;
+        } finally {
+            refsWriter = openJournal();
+        }
+    }
+
+    private BufferedWriter openJournal() throws IOException {
+        return Files.newBufferedWriter(refsFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private Manifest manifest(String hash) {
+        Manifest manifest = manifests.get(hash);
+        if (manifest == null) {
+            throw new IllegalArgumentException("Blob no encontrado: " + hash);
+        }
+        return manifest;
+    }
+
+    private Path chunkPath(String hash) {
+        return chunksDir.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private Path manifestPath(String hash) {
+        return blobsDir.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[2 * i] = Character.forDigit((bytes[i] >> 4) & 0xF, 16);
+            chars[2 * i + 1] = Character.forDigit(bytes[i] & 0xF, 16);
+        }
+        return new String(chars);
+    }
+    /**
+     * Tamaño original y bloques de un blob, en orden.
+     */
+
+    private static final class Manifest {
+        private final long size;
+        private final List<String> chunks;
+
+        private Manifest(long size, List<String> chunks) {
+            this.size = size;
+            this.chunks = chunks;
+        }
+
+        private long chunkLength(int index) {
+            return Math.min(CHUNK_SIZE, size - (long) index * CHUNK_SIZE);
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package controller;
 import java.util.*;
 import model.Category;
+import util.OrdinalRegistry;
 /**
  * Controlador encargado de gestionar las categorías del sistema.
  * Permite crear, obtener, actualizar y eliminar categorías,
  * así como inicializar algunas por defecto.
+ * Las categorías forman una jerarquía; cada una guarda el intervalo que ocupa su
+ * subárbol en el recorrido en preorden, de modo que obtener un subárbol completo
+ * es un rango contiguo y comprobar si una categoría desciende de otra es O(1).
  */
 
 public class CategoryController {
@@ -13,25 +17,61 @@ public class CategoryController {
      */
 
     private final Map<String, Category> categories;
+    /**
+     * Hijos de cada categoría, en orden de creación.
+     */
+
+    private final Map<String, List<String>> children;
+    /**
+     * Categorías en el orden del recorrido en preorden de la jerarquía.
+     */
+
+    private List<Category> preorder;
+    /**
+     * Controlador de contenidos al que se propagan eliminaciones y renombrados (puede ser null).
+     */
+
+    private final ContentController contentController;
+    /**
+     * Ordinales enteros densos de las categorías registradas.
+     */
+
+    private final OrdinalRegistry ordinals;
     /**
      * Constructor que inicializa el controlador con un conjunto de categorías por defecto.
      */
 
     public CategoryController() {
+        this(null);
+    }
+    /**
+     * Constructor que inicializa el controlador con categorías por defecto y propaga
+     * las eliminaciones y renombrados de categorías a los contenidos asociados.
+     * @param contentController controlador de contenidos, o null para no propagar cambios
+     */
+
+    public CategoryController(ContentController contentController) {
+        this.contentController = contentController;
         this.categories = new HashMap<>();
+        this.children = new HashMap<>();
+        this.preorder = new ArrayList<>();
+        this.ordinals = new OrdinalRegistry();
         initializeDefaultCategories();
     }
     /**
-     * Inicializa un conjunto de categorías predeterminadas (Programación, Diseño, Web).
+     * Inicializa un conjunto de categorías predeterminadas (Programación, Diseño, Web),
+     * con una subcategoría anidada de ejemplo (Programación › Java › Concurrencia).
      */
 
     private void initializeDefaultCategories() {
-        categories.put("cat1", new Category("cat1", "Programacion", "Contenidos sobre programacion"));
-        categories.put("cat2", new Category("cat2", "Diseño", "Contenidos sobre diseño y UX"));
-        categories.put("cat3", new Category("cat3", "Web", "Contenidos sobre desarrollo web"));
+        createCategory("cat1", "Programacion", "Contenidos sobre programacion");
+        createCategory("cat2", "Diseño", "Contenidos sobre diseño y UX");
+        createCategory("cat3", "Web", "Contenidos sobre desarrollo web");
+        createCategory("cat4", "Java", "Contenidos sobre Java", "cat1");
+        createCategory("cat5", "Concurrencia", "Programación concurrente en Java", "cat4");
     }
     /**
-     * Crea una nueva categoría y la agrega al mapa.
+     * Crea una nueva categoría raíz y la agrega al mapa.
      * @param id ID único de la categoría
      * @param name Nombre de la categoría
      * @param description Descripción de la categoría
@@ -39,8 +79,38 @@ public class CategoryController {
      */
 
     public Category createCategory(String id, String name, String description) {
+        return createCategory(id, name, description, null);
+    }
+    /**
+     * Crea una nueva categoría dentro de otra. Si ya existe una categoría con el mismo ID,
+     * se reemplaza conservando sus subcategorías.
+     * @param id ID único de la categoría
+     * @param name Nombre de la categoría
+     * @param description Descripción de la categoría
+     * @param parentId ID de la categoría padre, o null para crearla como raíz
+     * @return la categoría creada
+     * @throws IllegalArgumentException si la categoría padre no existe o, al reemplazar una
+     *         categoría, el nuevo padre es ella misma o una de sus descendientes
+     */
+
+    public synchronized Category createCategory(String id, String name, String description, String parentId) {
+        Category parent = parentId == null ? null : categories.get(parentId);
+        if (parentId != null && parent == null) {
+            throw new IllegalArgumentException("No existe la categoría padre " + parentId);
+        }
+        Category existing = categories.get(id);
+        if (existing != null && parent != null && existing.containsInSubtree(parent)) {
+            throw new IllegalArgumentException("Una categoría no puede moverse dentro de su propio subárbol");
+        }
         Category category = new Category(id, name, description);
-        categories.put(id, category);
+        category.setParentId(parentId);
+        Category previous = categories.put(id, category);
+        if (previous != null) {
+            children.getOrDefault(previous.getParentId(), new ArrayList<>()).remove(id);
+        }
+        children.computeIfAbsent(parentId, k -> new ArrayList<>()).add(id);
+        ordinals.acquire(id);
+        renumber();
         return category;
     }
     /**
@@ -49,16 +119,111 @@ public class CategoryController {
      * @return la categoría correspondiente o null si no existe
      */
 
-    public Category getCategoryById(String id) {
+    public synchronized Category getCategoryById(String id) {
         return categories.get(id);
     }
+    /**
+     * Obtiene el ordinal entero denso de una categoría, para indexar arreglos o bitmaps.
+     * El ordinal de una categoría eliminada puede reasignarse a otra.
+     * @param id ID de la categoría
+     * @return ordinal de la categoría, o -1 si no existe
+     */
+
+    public int getCategoryOrdinal(String id) {
+        return ordinals.ordinalOf(id);
+    }
+    /**
+     * Obtiene la categoría que tiene asignado un ordinal.
+     * @param ordinal ordinal de la categoría
+     * @return la categoría correspondiente o null si el ordinal está libre
+     */
+
+    public synchronized Category getCategoryByOrdinal(int ordinal) {
+        String id = ordinals.idOf(ordinal);
+        return id == null ? null : categories.get(id);
+    }
+    /**
+     * Obtiene el límite superior exclusivo de los ordinales de categoría.
+     * @return tamaño necesario para un arreglo indexado por ordinal de categoría
+     */
+
+    public int getCategoryOrdinalCapacity() {
+        return ordinals.capacity();
+    }
     /**
      * Obtiene todas las categorías existentes.
      * @return lista con todas las categorías
      */
-    public List<Category> getAllCategories() {
+    public synchronized List<Category> getAllCategories() {
         return new ArrayList<>(categories.values());
     }
+    /**
+     * Obtiene las subcategorías directas de una categoría.
+     * @param id ID de la categoría, o null para obtener las categorías raíz
+     * @return lista de subcategorías directas
+     */
+
+    public synchronized List<Category> getChildren(String id) {
+        List<Category> result = new ArrayList<>();
+        for (String childId : children.getOrDefault(id, Collections.emptyList())) {
+            result.add(categories.get(childId));
+        }
+        return result;
+    }
+    /**
+     * Obtiene una categoría y todos sus descendientes.
+     * El subárbol es un rango contiguo del recorrido en preorden.
+     * @param category categoría raíz del subárbol
+     * @return lista con la categoría y sus descendientes, en preorden
+     */
+
+    public synchronized List<Category> getSubtree(Category category) {
+        if (category.getSubtreeStart() < 0) {
+            return Collections.singletonList(category);
+        }
+        return new ArrayList<>(preorder.subList(category.getSubtreeStart(), category.getSubtreeEnd() + 1));
+    }
+    /**
+     * Obtiene la ruta de ancestros de una categoría, desde la raíz hasta su padre.
+     * @param id ID de la categoría
+     * @return lista de ancestros (vacía para una categoría raíz o inexistente)
+     */
+
+    public synchronized List<Category> getAncestors(String id) {
+        LinkedList<Category> ancestors = new LinkedList<>();
+        Category current = categories.get(id);
+        while (current != null && current.getParentId() != null) {
+            current = categories.get(current.getParentId());
+            ancestors.addFirst(current);
+        }
+        return ancestors;
+    }
+    /**
+     * Mueve una categoría, con todo su subárbol, bajo otro padre.
+     * @param id ID de la categoría a mover
+     * @param newParentId ID del nuevo padre, o null para convertirla en raíz
+     * @throws IllegalArgumentException si alguna categoría no existe o el movimiento crea un ciclo
+     */
+
+    public synchronized void moveCategory(String id, String newParentId) {
+        Category category = categories.get(id);
+        if (category == null) {
+            throw new IllegalArgumentException("No existe la categoría " + id);
+        }
+        if (newParentId != null) {
+            Category newParent = categories.get(newParentId);
+            if (newParent == null) {
+                throw new IllegalArgumentException("No existe la categoría padre " + newParentId);
+            }
+            if (category.containsInSubtree(newParent)) {
+                throw new IllegalArgumentException("Una categoría no puede moverse dentro de su propio subárbol");
+            }
+        }
+        children.get(category.getParentId()).remove(id);
+        category.setParentId(newParentId);
+        children.computeIfAbsent(newParentId, k -> new ArrayList<>()).add(id);
+        renumber();
+    }
     /**
      * Actualiza los datos de una categoría existente.
      * @param id ID de la categoría a actualizar
@@ -66,19 +231,81 @@ public class CategoryController {
      * @param description nueva descripción
      */
 
-    public void updateCategory(String id, String name, String description) {
+    public synchronized void updateCategory(String id, String name, String description) {
         Category category = categories.get(id);
         if (category != null) {
             category.setName(name);
             category.setDescription(description);
+            if (contentController != null) {
+                contentController.relationRenamed(contentController.getContentIdsByCategory(id));
+            }
         }
     }
     /**
-     * Elimina una categoría del sistema.
+     * Elimina una categoría del sistema y la quita de los contenidos que la tenían asociada.
+     * Sus subcategorías pasan a depender del padre de la categoría eliminada.
      * @param id ID de la categoría a eliminar
      */
 
-    public void deleteCategory(String id) {
-        categories.remove(id);
+    public synchronized void deleteCategory(String id) {
+        Category category = categories.remove(id);
+        if (category == null) {
+            return;
+        }
+        String parentId = category.getParentId();
+        children.get(parentId).remove(id);
+        for (String childId : children.getOrDefault(id, Collections.emptyList())) {
+            categories.get(childId).setParentId(parentId);
+            children.computeIfAbsent(parentId, k -> new ArrayList<>()).add(childId);
+        }
+        children.remove(id);
+        ordinals.release(id);
+        category.setSubtreeInterval(-1, -1);
+        renumber();
+        if (contentController != null) {
+            contentController.removeCategoryFromAll(category);
+        }
+    }
+    /**
+     * Recalcula el recorrido en preorden y el intervalo de subárbol de cada categoría.
+     * Es O(número de categorías) y sólo se ejecuta ante cambios estructurales.
+     */
+
+    private void renumber() {
+        List<Category> order = new ArrayList<>(categories.size());
+        Deque<String> stack = new ArrayDeque<>();
+        List<String> roots = children.getOrDefault(null, Collections.emptyList());
+        for (int i = roots.size() - 1; i >= 0; i--) {
+            stack.push(roots.get(i));
+        }
+        // Se numera en preorden; el fin de cada subárbol se fija al cerrar sus descendientes
+        Map<String, Integer> starts = new HashMap<>();
+        Deque<String> open = new ArrayDeque<>();
+        while (!stack.isEmpty()) {
+            String id = stack.pop();
+            Category category = categories.get(id);
+            while (!open.isEmpty() && !isAncestor(open.peek(), category)) {
+                close(open.pop(), starts, order.size() - 1);
+            }
+            starts.put(id, order.size());
+            order.add(category);
+            open.push(id);
+            List<String> kids = children.getOrDefault(id, Collections.emptyList());
+            for (int i = kids.size() - 1; i >= 0; i--) {
+                stack.push(kids.get(i));
+            }
+        }
+        while (!open.isEmpty()) {
+            close(open.pop(), starts, order.size() - 1);
+        }
+        preorder = order;
+    }
+
+    private boolean isAncestor(String ancestorId, Category category) {
+        return ancestorId.equals(category.getParentId());
+    }
+
+    private void close(String id, Map<String, Integer> starts, int end) {
+        categories.get(id).setSubtreeInterval(starts.get(id), end);
     }
 }
@@ -1,27 +1,160 @@
 package controller;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import model.*;
+import model.interfaces.IContentChangeListener;
+import model.interfaces.IContentRelationListener;
+import model.enums.AuditAction;
+import model.enums.ChangeType;
 import model.enums.UserRole;
 import model.enums.ContentState;
+import model.enums.ContentMetric;
+import model.enums.Permission;
+import model.enums.TimeField;
+import util.DistributionSketch;
+import util.IDGenerator;
+import util.OrdinalRegistry;
 /**
  * Controlador encargado de gestionar los distintos tipos de contenido del sistema:
  * artículos, videos e imágenes.
  * Permite crearlos, modificarlos, publicarlos y eliminarlos.
+ * Las modificaciones se serializan entre sí; las lecturas no bloquean y los reportes
+ * pueden trabajar sobre instantáneas inmutables obtenidas con {@link #snapshot()}.
  */
 
 public class ContentController {
     /**
-     * Mapa que almacena todos los contenidos creados, indexados por su ID.
+     * Número de veces que se intenta reunir una instantánea sin bloqueo antes de
+     * reunirla con el bloqueo del controlador.
      */
 
-    private final Map<String, Content> contents;
+    private static final int SNAPSHOT_ATTEMPTS = 3;
+    /**
+     * Mapa que almacena todos los contenidos creados, ordenados por su ID.
+     * Los IDs generados por {@link IDGenerator} se ordenan por instante de creación,
+     * por lo que un rango de IDs corresponde a un intervalo de creación.
+     */
+
+    private final ConcurrentNavigableMap<String, Content> contents;
+    /**
+     * Distribuciones de las métricas numéricas de los contenidos,
+     * mantenidas de forma incremental al crear y eliminar contenidos.
+     */
+
+    private final Map<ContentMetric, DistributionSketch> distributions;
+    /**
+     * Versión global del catálogo. Se incrementa con cada modificación de contenidos
+     * y permite a otros componentes detectar si sus datos derivados siguen vigentes.
+     */
+
+    private final AtomicLong version;
+    /**
+     * Cubo de conteos agregados por tipo, estado, autor, categoría y mes,
+     * mantenido de forma incremental con cada modificación.
+     */
+
+    private final ContentCube cube;
+    /**
+     * Copia inmutable de la revisión vigente de cada contenido almacenado, por ID.
+     * Se reemplaza con cada modificación, bajo el mismo bloqueo, antes de incrementar la versión.
+     */
+
+    private final Map<String, Content> frozenContents;
+    /**
+     * Última instantánea construida del catálogo.
+     */
+
+    private volatile ContentSnapshot snapshot;
+    /**
+     * Secuencia de escritura de {@code frozenContents}: es impar desde que una modificación
+     * cambia una copia congelada hasta que incrementa la versión, y par en otro caso.
+     */
+
+    private final AtomicLong frozenSequence = new AtomicLong();
+    /**
+     * Índices inversos categoría → IDs de contenido y etiqueta → IDs de contenido,
+     * mantenidos por las notificaciones de cada contenido almacenado.
+     */
+
+    private final Map<String, Set<String>> contentIdsByCategory;
+    private final Map<String, Set<String>> contentIdsByTag;
+    private final IContentRelationListener relationIndexer;
+    /**
+     * Etiquetas internadas por nombre, con su número de usos en el catálogo.
+     */
+
+    private final TagRegistry tagRegistry;
+    /**
+     * Ordinales enteros densos de los contenidos almacenados.
+     */
+
+    private final OrdinalRegistry contentOrdinals;
+    /**
+     * Log de auditoría donde se registran las modificaciones con autor conocido (puede ser null).
+     */
+
+    private volatile AuditLog auditLog;
+    /**
+     * Almacén donde se guardan los archivos de imágenes y videos (puede ser null).
+     */
+
+    private volatile BlobStore blobStore;
+    /**
+     * Última vista ordenada de los contenidos, junto con la versión sobre la que se construyó.
+     */
+
+    private volatile SortedView sortedView;
+    /**
+     * Suscriptores a las altas, modificaciones y bajas de contenidos.
+     */
+
+    private final List<IContentChangeListener> changeListeners;
+    /**
+     * Índices temporales: por cada fecha, las claves (fecha, ID) de los contenidos
+     * ordenadas de la más reciente a la más antigua.
+     */
+
+    private final Map<TimeField, NavigableSet<TimeKey>> timeIndexes;
+    /**
+     * Claves con las que cada contenido figura en los índices temporales, por ID
+     * (una por {@link TimeField}, null si el contenido no tiene esa fecha).
+     */
+
+    private final Map<String, TimeKey[]> timeKeys;
     /**
      * Constructor que inicializa el controlador con contenido de ejemplo por defecto.
      */
 
     public ContentController() {
-        this.contents = new HashMap<>();
+        this.contents = new ConcurrentSkipListMap<>();
+        this.distributions = new EnumMap<>(ContentMetric.class);
+        this.version = new AtomicLong();
+        this.cube = new ContentCube();
+        this.frozenContents = new ConcurrentHashMap<>();
+        this.contentIdsByCategory = new ConcurrentHashMap<>();
+        this.contentIdsByTag = new ConcurrentHashMap<>();
+        this.relationIndexer = new RelationIndexer();
+        this.tagRegistry = new TagRegistry(version::incrementAndGet);
+        this.contentOrdinals = new OrdinalRegistry();
+        this.changeListeners = new CopyOnWriteArrayList<>();
+        this.timeIndexes = new EnumMap<>(TimeField.class);
+        this.timeKeys = new HashMap<>();
+        for (TimeField field : TimeField.values()) {
+            timeIndexes.put(field, new ConcurrentSkipListSet<>(TimeKey.NEWEST_FIRST));
+        }
+        for (ContentMetric metric : ContentMetric.values()) {
+            distributions.put(metric, new DistributionSketch());
+        }
         initializeDefaultContent();
     }
 
@@ -44,9 +177,135 @@ public class ContentController {
         image1.setDimensions(1920, 1080, 2.5);
         image1.publish();
 
-        contents.put(article1.getId(), article1);
-        contents.put(video1.getId(), video1);
-        contents.put(image1.getId(), image1);
+        store(article1);
+        store(video1);
+        store(image1);
+    }
+    /**
+     * Almacena un contenido y actualiza los datos derivados (distribuciones y cubo).
+     * No libera el archivo del contenido reemplazado; de eso se encarga quien llama,
+     * fuera del bloqueo.
+     * @param content contenido a almacenar
+     * @return contenido con el mismo ID que se reemplazó, o null si no había
+     */
+
+    private Content store(Content content) {
+        Content previous = contents.put(content.getId(), content);
+        if (previous != null) {
+            unindexContent(previous);
+            detachRelations(previous);
+        }
+        indexContent(content);
+        attachRelations(content);
+        indexTimes(content);
+        contentOrdinals.acquire(content.getId());
+        freeze(content);
+        advanceVersion();
+        fireChange(previous != null ? ChangeType.UPDATED : ChangeType.ADDED, content);
+        return previous;
+    }
+    /**
+     * Almacena un contenido recién creado y registra su creación. Si reemplaza a otro
+     * contenido con el mismo ID que tenía un archivo distinto, libera ese archivo después
+     * de soltar el bloqueo.
+     * @param content contenido creado
+     * @param author autor del contenido
+     */
+
+    private void storeCreated(Content content, User author) {
+        Content replaced;
+        synchronized (this) {
+            Content previous = store(content);
+            audit(author, AuditAction.CREATE, content.getId());
+            replaced = previous != null && !Objects.equals(blobHashOf(previous), blobHashOf(content)) ? previous : null;
+        }
+        releaseBlob(replaced);
+    }
+    /**
+     * Incorpora un contenido a los datos derivados con sus valores actuales.
+     * @param content contenido a incorporar
+     */
+
+    private void indexContent(Content content) {
+        recordMetrics(content, true);
+        cube.add(content);
+    }
+    /**
+     * Registra las categorías y etiquetas de un contenido recién almacenado en los índices
+     * inversos y empieza a escuchar sus cambios.
+     * @param content contenido almacenado
+     */
+
+    private void attachRelations(Content content) {
+        // Al asignar el oyente las etiquetas pasan a ser las instancias del registro
+        content.setRelationListener(relationIndexer);
+        for (Category category : content.getCategories()) {
+            link(contentIdsByCategory, category.getId(), content.getId());
+        }
+        for (Tag tag : content.getTags()) {
+            link(contentIdsByTag, tag.getId(), content.getId());
+            tagRegistry.increment(tag);
+        }
+    }
+    /**
+     * Retira un contenido eliminado de los índices inversos y deja de escuchar sus cambios.
+     * @param content contenido eliminado
+     */
+
+    private void detachRelations(Content content) {
+        content.setRelationListener(null);
+        for (Category category : content.getCategories()) {
+            unlink(contentIdsByCategory, category.getId(), content.getId());
+        }
+        for (Tag tag : content.getTags()) {
+            unlink(contentIdsByTag, tag.getId(), content.getId());
+            tagRegistry.decrement(tag);
+        }
+    }
+
+    private static void link(Map<String, Set<String>> index, String key, String contentId) {
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(contentId);
+    }
+
+    private static void unlink(Map<String, Set<String>> index, String key, String contentId) {
+        index.computeIfPresent(key, (k, ids) -> {
+            ids.remove(contentId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+    /**
+     * Retira un contenido de los datos derivados. Debe llamarse antes de modificarlo.
+     * @param content contenido a retirar
+     */
+
+    private void unindexContent(Content content) {
+        recordMetrics(content, false);
+        cube.remove(content);
+    }
+    /**
+     * Registra o retira las métricas numéricas de un contenido en sus distribuciones.
+     * @param content contenido de referencia
+     * @param add true para registrar, false para retirar
+     */
+
+    private void recordMetrics(Content content, boolean add) {
+        if (content instanceof Video video) {
+            record(ContentMetric.VIDEO_DURATION, video.getDuration(), add);
+        } else if (content instanceof Image image) {
+            record(ContentMetric.IMAGE_FILE_SIZE, image.getFileSize(), add);
+            record(ContentMetric.IMAGE_WIDTH, image.getWidth(), add);
+            record(ContentMetric.IMAGE_HEIGHT, image.getHeight(), add);
+        } else if (content instanceof Article article) {
+            record(ContentMetric.ARTICLE_WORD_COUNT, article.getWordCount(), add);
+        }
+    }
+
+    private void record(ContentMetric metric, double value, boolean add) {
+        if (add) {
+            distributions.get(metric).add(value);
+        } else {
+            distributions.get(metric).remove(value);
+        }
     }
     /**
      * Crea un nuevo artículo con el texto especificado.
@@ -60,7 +319,7 @@ public class ContentController {
     public Article createArticle(String id, String title, String description, String content, User author) {
         Article article = new Article(id, title, description, author);
         article.setContent(content);
-        contents.put(id, article);
+        storeCreated(article, author);
         return article;
     }
     /**
@@ -81,7 +340,7 @@ public class ContentController {
         video.setVideoUrl(videoUrl);
         video.setDuration(duration);
         video.setResolution(resolution);
-        contents.put(id, video);
+        storeCreated(video, author);
         return video;
     }
     /**
@@ -102,7 +361,7 @@ public class ContentController {
         Image image = new Image(id, title, description, author);
         image.setImageUrl(imageUrl);
         image.setDimensions(width, height, fileSize);
-        contents.put(id, image);
+        storeCreated(image, author);
         return image;
     }
     /**
@@ -122,6 +381,26 @@ public class ContentController {
     public List<Content> getAllContents() {
         return new ArrayList<>(contents.values());
     }
+    /**
+     * Obtiene los contenidos con IDs generados con un prefijo ({@code art}, {@code vid},
+     * {@code img}...) que se crearon en un intervalo. La consulta recorre sólo el rango
+     * de IDs correspondiente, sin examinar el resto del catálogo; los contenidos con IDs
+     * asignados manualmente no se incluyen.
+     * @param prefix prefijo de los IDs
+     * @param from inicio del intervalo (inclusivo)
+     * @param to fin del intervalo (inclusivo)
+     * @return contenidos creados en el intervalo, en orden de creación
+     */
+
+    public List<Content> getContentsCreatedBetween(String prefix, LocalDateTime from, LocalDateTime to) {
+        ZoneId zone = ZoneId.systemDefault();
+        String lower = IDGenerator.lowerBound(prefix, from.atZone(zone).toInstant().toEpochMilli());
+        String upper = IDGenerator.upperBound(prefix, to.atZone(zone).toInstant().toEpochMilli());
+        if (lower.compareTo(upper) > 0) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(contents.subMap(lower, true, upper, true).values());
+    }
     /**
      * Obtiene todos los contenidos que están actualmente publicados.
      * @return lista de contenidos publicados
@@ -139,26 +418,52 @@ public class ContentController {
      * @param description nueva descripción
      */
 
-    public void updateContent(String id, String title, String description) {
+    public synchronized void updateContent(String id, String title, String description) {
         Content content = contents.get(id);
         if (content != null) {
             content.update(title, description);
         }
     }
     /**
-     * Elimina un contenido del sistema.
+     * Elimina un contenido del sistema. La referencia a su archivo se libera después de
+     * soltar el bloqueo, porque liberarla escribe en el diario del almacén y puede borrar bloques.
      * @param id identificador del contenido a eliminar
      */
 
     public void deleteContent(String id) {
-        contents.remove(id);
+        Content removed;
+        synchronized (this) {
+            removed = remove(id);
+        }
+        releaseBlob(removed);
+    }
+    /**
+     * Retira un contenido del catálogo y de los datos derivados, sin liberar su archivo.
+     * Debe llamarse con el bloqueo del controlador.
+     * @param id identificador del contenido
+     * @return contenido retirado, o null si no existía
+     */
+
+    private Content remove(String id) {
+        Content removed = contents.remove(id);
+        if (removed != null) {
+            unindexContent(removed);
+            detachRelations(removed);
+            unindexTimes(id);
+            contentOrdinals.release(id);
+            beginFrozenWrite();
+            frozenContents.remove(id);
+            advanceVersion();
+            fireChange(ChangeType.REMOVED, removed);
+        }
+        return removed;
     }
     /**
      * Publica un contenido si está en estado de borrador.
      * @param id identificador del contenido a publicar
      */
 
-    public void publishContent(String id) {
+    public synchronized void publishContent(String id) {
         Content content = contents.get(id);
         if (content != null) {
             content.publish();
@@ -169,12 +474,248 @@ public class ContentController {
      * @param id identificador del contenido a despublicar
      */
 
-    public void unpublishContent(String id) {
+    public synchronized void unpublishContent(String id) {
         Content content = contents.get(id);
         if (content != null) {
             content.unpublish();
         }
     }
+    /**
+     * Actualiza el título y la descripción de un contenido y lo registra en el log de auditoría.
+     * @param id identificador del contenido
+     * @param title nuevo título
+     * @param description nueva descripción
+     * @param actor usuario que realiza la modificación
+     */
+
+    public synchronized void updateContent(String id, String title, String description, User actor) {
+        if (contents.containsKey(id)) {
+            updateContent(id, title, description);
+            audit(actor, AuditAction.UPDATE, id);
+        }
+    }
+    /**
+     * Elimina un contenido y lo registra en el log de auditoría.
+     * @param id identificador del contenido a eliminar
+     * @param actor usuario que realiza la eliminación
+     */
+
+    public void deleteContent(String id, User actor) {
+        Content removed;
+        synchronized (this) {
+            removed = remove(id);
+            if (removed != null) {
+                audit(actor, AuditAction.DELETE, id);
+            }
+        }
+        releaseBlob(removed);
+    }
+    /**
+     * Publica un contenido y lo registra en el log de auditoría.
+     * @param id identificador del contenido a publicar
+     * @param actor usuario que realiza la publicación
+     */
+
+    public synchronized void publishContent(String id, User actor) {
+        if (contents.containsKey(id)) {
+            publishContent(id);
+            audit(actor, AuditAction.PUBLISH, id);
+        }
+    }
+    /**
+     * Despublica un contenido y lo registra en el log de auditoría.
+     * @param id identificador del contenido a despublicar
+     * @param actor usuario que retira la publicación
+     */
+
+    public synchronized void unpublishContent(String id, User actor) {
+        if (contents.containsKey(id)) {
+            unpublishContent(id);
+            audit(actor, AuditAction.UNPUBLISH, id);
+        }
+    }
+    /**
+     * Suscribe un oyente a las altas, modificaciones y bajas de contenidos.
+     * @param listener oyente a suscribir
+     */
+
+    public void addContentChangeListener(IContentChangeListener listener) {
+        changeListeners.add(listener);
+    }
+    /**
+     * Cancela la suscripción de un oyente.
+     * @param listener oyente a quitar
+     */
+
+    public void removeContentChangeListener(IContentChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    private void fireChange(ChangeType type, Content content) {
+        if (changeListeners.isEmpty()) {
+            return;
+        }
+        ContentChangeEvent event = new ContentChangeEvent(type, content);
+        for (IContentChangeListener listener : changeListeners) {
+            listener.onContentChanged(event);
+        }
+    }
+    /**
+     * Guarda una copia inmutable de la revisión actual de un contenido almacenado.
+     * Debe llamarse bajo el bloqueo del controlador y antes de incrementar la versión.
+     */
+
+    private void freeze(Content content) {
+        if (contents.get(content.getId()) == content) {
+            beginFrozenWrite();
+            frozenContents.put(content.getId(), content.copy());
+        }
+    }
+    /**
+     * Marca que una modificación empieza a cambiar las copias congeladas.
+     * Debe llamarse bajo el bloqueo del controlador.
+     */
+
+    private void beginFrozenWrite() {
+        if ((frozenSequence.get() & 1) == 0) {
+            frozenSequence.incrementAndGet();
+        }
+    }
+    /**
+     * Incrementa la versión del catálogo y, si la modificación cambió copias congeladas,
+     * marca que ya están completas. Debe llamarse bajo el bloqueo del controlador.
+     */
+
+    private void advanceVersion() {
+        version.incrementAndGet();
+        if ((frozenSequence.get() & 1) == 1) {
+            frozenSequence.incrementAndGet();
+        }
+    }
+    /**
+     * Notifica la modificación de un contenido sólo si sigue siendo el almacenado con su ID.
+     */
+
+    private void fireStoredChange(Content content) {
+        if (contents.get(content.getId()) == content) {
+            indexTimes(content);
+            fireChange(ChangeType.UPDATED, content);
+        }
+    }
+    /**
+     * Establece el almacén donde se guardan los archivos de imágenes y videos.
+     * @param blobStore almacén de blobs, o null para no guardar archivos
+     */
+
+    public void setBlobStore(BlobStore blobStore) {
+        this.blobStore = blobStore;
+    }
+    /**
+     * Obtiene el almacén de blobs configurado.
+     * @return almacén de blobs, o null si no hay ninguno
+     */
+
+    public BlobStore getBlobStore() {
+        return blobStore;
+    }
+    /**
+     * Guarda el archivo de una imagen o un video en el almacén de blobs y asocia el
+     * contenido a su hash. Si el contenido ya tenía otro archivo, se libera su referencia.
+     * La lectura y copia del archivo, y la liberación del archivo anterior, se hacen fuera
+     * del bloqueo del controlador, por lo que puede llamarse desde un hilo de fondo con
+     * archivos grandes.
+     * @param id identificador de la imagen o el video
+     * @param file archivo a guardar
+     * @return hash SHA-256 del archivo
+     * @throws IOException si el archivo no puede leerse o el almacén no puede escribirse
+     * @throws IllegalArgumentException si el contenido no existe o no es una imagen o un video
+     * @throws IllegalStateException si no hay almacén de blobs configurado
+     */
+
+    public String attachMedia(String id, Path file) throws IOException {
+        BlobStore store = blobStore;
+        if (store == null) {
+            throw new IllegalStateException("No hay almacén de blobs configurado");
+        }
+        Content content = contents.get(id);
+        if (!(content instanceof Image) && !(content instanceof Video)) {
+            throw new IllegalArgumentException("El contenido " + id + " no es una imagen ni un video");
+        }
+        String hash = store.ingest(file, id);
+        boolean attached;
+        String unused;
+        synchronized (this) {
+            Content current = contents.get(id);
+            attached = current == content;
+            if (!attached) {
+                // Se eliminó o reemplazó mientras se copiaba el archivo; el reemplazo
+                // puede haber adjuntado ya el mismo archivo
+                unused = hash.equals(blobHashOf(current)) ? null : hash;
+            } else {
+                unused = blobHashOf(content);
+                if (hash.equals(unused)) {
+                    unused = null;
+                } else if (content instanceof Image image) {
+                    image.setBlobHash(hash);
+                } else {
+                    ((Video) content).setBlobHash(hash);
+                }
+            }
+        }
+        if (unused != null) {
+            store.release(unused, id);
+        }
+        if (!attached) {
+            throw new IllegalArgumentException("Contenido no encontrado: " + id);
+        }
+        return hash;
+    }
+    /**
+     * Libera la referencia de un contenido a su archivo, si tiene. No debe llamarse con
+     * el bloqueo del controlador.
+     * @param content contenido, o null
+     */
+
+    private void releaseBlob(Content content) {
+        if (content == null) {
+            return;
+        }
+        BlobStore store = blobStore;
+        String hash = blobHashOf(content);
+        if (store != null && hash != null) {
+            store.release(hash, content.getId());
+        }
+    }
+
+    private static String blobHashOf(Content content) {
+        if (content instanceof Image image) {
+            return image.getBlobHash();
+        }
+        return content instanceof Video video ? video.getBlobHash() : null;
+    }
+    /**
+     * Establece el log de auditoría donde se registran las modificaciones con autor conocido.
+     * @param auditLog log de auditoría, o null para no registrar
+     */
+
+    public void setAuditLog(AuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+    /**
+     * Obtiene el log de auditoría configurado.
+     * @return log de auditoría, o null si no hay ninguno
+     */
+
+    public AuditLog getAuditLog() {
+        return auditLog;
+    }
+
+    private void audit(User actor, AuditAction action, String contentId) {
+        AuditLog log = auditLog;
+        if (log != null && actor != null) {
+            log.record(actor, action, contentId);
+        }
+    }
     /**
      * Obtiene todos los contenidos que coincidan con un tipo específico.
      * @param type clase del tipo de contenido (Article, Video, Image)
@@ -197,4 +738,500 @@ public class ContentController {
                 .filter(c -> c.getAuthor().getId().equals(author.getId()))
                 .collect(Collectors.toList());
     }
+    /**
+     * Obtiene la versión actual del catálogo de contenidos.
+     * Dos lecturas con la misma versión observan el mismo conjunto de contenidos.
+     * @return número de versión, creciente con cada modificación
+     */
+
+    public long getVersion() {
+        return version.get();
+    }
+    /**
+     * Obtiene una copia de la distribución de una métrica numérica.
+     * La copia puede fusionarse con distribuciones de otras particiones.
+     * @param metric métrica solicitada
+     * @return copia de la distribución actual de la métrica
+     */
+
+    public DistributionSketch getDistribution(ContentMetric metric) {
+        return new DistributionSketch().merge(distributions.get(metric));
+    }
+    /**
+     * Obtiene el cubo de conteos agregados de los contenidos.
+     * @return cubo mantenido por este controlador
+     */
+
+    public ContentCube getCube() {
+        return cube;
+    }
+    /**
+     * Obtiene una instantánea inmutable del catálogo en su versión actual.
+     * Si no hubo cambios desde la última instantánea, se devuelve la misma instancia.
+     * Si los hubo, se reúnen las copias inmutables que cada modificación ya dejó
+     * preparadas, sin copiar contenidos ni bloquear a los escritores, y sólo se aceptan
+     * si ninguna modificación estaba en curso ni terminó mientras tanto. Si el catálogo
+     * sigue cambiando tras varios intentos, se reúnen con el bloqueo del controlador.
+     * La instantánea refleja siempre exactamente la versión que declara.
+     * @return instantánea de la versión actual
+     */
+
+    public ContentSnapshot snapshot() {
+        ContentSnapshot current = snapshot;
+        if (current != null && current.getVersion() == version.get()) {
+            return current;
+        }
+        ContentSnapshot created = null;
+        for (int attempt = 0; attempt < SNAPSHOT_ATTEMPTS && created == null; attempt++) {
+            long sequence = frozenSequence.get();
+            long currentVersion = version.get();
+            if ((sequence & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            Map<String, Content> frozen = new HashMap<>(frozenContents);
+            if (frozenSequence.get() == sequence && version.get() == currentVersion) {
+                created = new ContentSnapshot(currentVersion, frozen);
+            }
+        }
+        if (created == null) {
+            long lockedVersion;
+            Map<String, Content> frozen;
+            synchronized (this) {
+                lockedVersion = version.get();
+                frozen = new HashMap<>(frozenContents);
+            }
+            created = new ContentSnapshot(lockedVersion, frozen);
+        }
+        current = snapshot;
+        if (current == null || current.getVersion() < created.getVersion()) {
+            snapshot = created;
+        }
+        return created;
+    }
+    /**
+     * Obtiene los contenidos más recientes según una de sus fechas, del más reciente al
+     * más antiguo. La consulta lee sólo los primeros elementos del índice temporal
+     * correspondiente, en O(log n + k), sin recorrer ni copiar el catálogo.
+     * Con {@link TimeField#PUBLISHED} sólo se incluyen los contenidos publicados.
+     * @param n número máximo de contenidos
+     * @param field fecha por la que se ordena
+     * @return hasta n contenidos, del más reciente al más antiguo
+     * @throws IllegalArgumentException si n es negativo
+     */
+
+    public List<Content> recent(int n, TimeField field) {
+        if (n < 0) {
+            throw new IllegalArgumentException("El número de contenidos no puede ser negativo: " + n);
+        }
+        List<Content> result = new ArrayList<>(Math.min(n, 64));
+        Iterator<TimeKey> keys = timeIndexes.get(field).iterator();
+        while (result.size() < n && keys.hasNext()) {
+            Content content = contents.get(keys.next().contentId);
+            // Una clave puede sobrevivir un instante a su contenido si éste se elimina a la vez
+            if (content != null) {
+                result.add(content);
+            }
+        }
+        return result;
+    }
+    /**
+     * Actualiza las claves de un contenido almacenado en los índices temporales.
+     * Sólo se tocan los índices cuya fecha cambió.
+     * @param content contenido almacenado
+     */
+
+    private void indexTimes(Content content) {
+        String id = content.getId();
+        synchronized (timeKeys) {
+            if (contents.get(id) != content) {
+                return;
+            }
+            TimeKey[] previous = timeKeys.get(id);
+            TimeField[] fields = TimeField.values();
+            TimeKey[] keys = new TimeKey[fields.length];
+            for (TimeField field : fields) {
+                LocalDateTime time = timeOf(content, field);
+                TimeKey key = time == null ? null : new TimeKey(time, id);
+                TimeKey old = previous == null ? null : previous[field.ordinal()];
+                if (!Objects.equals(old, key)) {
+                    NavigableSet<TimeKey> index = timeIndexes.get(field);
+                    if (old != null) {
+                        index.remove(old);
+                    }
+                    if (key != null) {
+                        index.add(key);
+                    }
+                }
+                keys[field.ordinal()] = key;
+            }
+            timeKeys.put(id, keys);
+        }
+    }
+    /**
+     * Retira un contenido eliminado de los índices temporales.
+     * @param id ID del contenido
+     */
+
+    private void unindexTimes(String id) {
+        synchronized (timeKeys) {
+            TimeKey[] keys = timeKeys.remove(id);
+            if (keys == null) {
+                return;
+            }
+            for (TimeField field : TimeField.values()) {
+                if (keys[field.ordinal()] != null) {
+                    timeIndexes.get(field).remove(keys[field.ordinal()]);
+                }
+            }
+        }
+    }
+
+    private static LocalDateTime timeOf(Content content, TimeField field) {
+        return switch (field) {
+            case CREATED -> content.getCreatedAt();
+            case UPDATED -> content.getUpdatedAt();
+            case PUBLISHED -> content.getState() == ContentState.PUBLISHED ? content.getPublishedAt() : null;
+        };
+    }
+    /**
+     * Obtiene una vista de sólo lectura de los contenidos ordenados por ID, es decir,
+     * por instante de creación para los IDs generados con {@link IDGenerator}.
+     * La vista es un arreglo de referencias con acceso aleatorio en O(1), pensada para
+     * modelos de tabla que sólo consultan las filas visibles; se reutiliza mientras
+     * la versión del catálogo no cambie.
+     * @return lista inmodificable de contenidos ordenados por ID
+     */
+
+    public List<Content> getSortedView() {
+        SortedView current = sortedView;
+        if (current != null && current.version == version.get()) {
+            return current.contents;
+        }
+        synchronized (this) {
+            long currentVersion = version.get();
+            current = sortedView;
+            if (current == null || current.version != currentVersion) {
+                List<Content> view = Collections.unmodifiableList(Arrays.asList(contents.values().toArray(new Content[0])));
+                current = new SortedView(currentVersion, view);
+                sortedView = current;
+            }
+            return current.contents;
+        }
+    }
+    /**
+     * Calcula, para una página de contenidos, las filas que un usuario puede editar.
+     * La máscara de permisos del usuario se evalúa una sola vez para toda la página.
+     * @param user usuario de referencia
+     * @param page contenidos de la página
+     * @return conjunto de posiciones de la página cuyos contenidos son editables
+     */
+
+    public BitSet getEditableRows(User user, List<Content> page) {
+        BitSet rows = new BitSet(page.size());
+        if ((user.getPermissionMask() & Permission.EDIT_ANY.getMask()) != 0) {
+            rows.set(0, page.size());
+            return rows;
+        }
+        String userId = user.getId();
+        for (int i = 0; i < page.size(); i++) {
+            if (userId.equals(page.get(i).getAuthor().getId())) {
+                rows.set(i);
+            }
+        }
+        return rows;
+    }
+    /**
+     * Calcula, para una página de contenidos, las filas que un usuario puede eliminar.
+     * @param user usuario de referencia
+     * @param page contenidos de la página
+     * @return conjunto de posiciones eliminables (todas o ninguna, según el permiso del usuario)
+     */
+
+    public BitSet getDeletableRows(User user, List<Content> page) {
+        BitSet rows = new BitSet(page.size());
+        if ((user.getPermissionMask() & Permission.DELETE_ANY.getMask()) != 0) {
+            rows.set(0, page.size());
+        }
+        return rows;
+    }
+    /**
+     * Obtiene los IDs de los contenidos asociados a una categoría.
+     * @param categoryId ID de la categoría
+     * @return copia del conjunto de IDs (vacío si ninguno)
+     */
+
+    public Set<String> getContentIdsByCategory(String categoryId) {
+        return new HashSet<>(contentIdsByCategory.getOrDefault(categoryId, Collections.emptySet()));
+    }
+    /**
+     * Obtiene los IDs de los contenidos asociados a una etiqueta.
+     * @param tagId ID de la etiqueta
+     * @return copia del conjunto de IDs (vacío si ninguno)
+     */
+
+    public Set<String> getContentIdsByTag(String tagId) {
+        return new HashSet<>(contentIdsByTag.getOrDefault(tagId, Collections.emptySet()));
+    }
+    /**
+     * Obtiene el ordinal entero denso de un contenido, para indexar arreglos o bitmaps.
+     * El ordinal de un contenido eliminado puede reasignarse a otro.
+     * @param id ID del contenido
+     * @return ordinal del contenido, o -1 si no existe
+     */
+
+    public int getContentOrdinal(String id) {
+        return contentOrdinals.ordinalOf(id);
+    }
+    /**
+     * Obtiene el contenido que tiene asignado un ordinal.
+     * @param ordinal ordinal del contenido
+     * @return el contenido o null si el ordinal está libre
+     */
+
+    public Content getContentByOrdinal(int ordinal) {
+        String id = contentOrdinals.idOf(ordinal);
+        return id == null ? null : contents.get(id);
+    }
+    /**
+     * Obtiene el límite superior exclusivo de los ordinales de contenido.
+     * @return tamaño necesario para un arreglo indexado por ordinal de contenido
+     */
+
+    public int getContentOrdinalCapacity() {
+        return contentOrdinals.capacity();
+    }
+    /**
+     * Obtiene los ordinales de los contenidos asociados a una categoría.
+     * Los bitmaps de varias categorías o etiquetas pueden combinarse con
+     * {@link BitSet#and} y {@link BitSet#or} sin materializar conjuntos de IDs.
+     * @param categoryId ID de la categoría
+     * @return bitmap de ordinales de contenido
+     */
+
+    public BitSet getContentOrdinalsByCategory(String categoryId) {
+        return toOrdinals(contentIdsByCategory.getOrDefault(categoryId, Collections.emptySet()));
+    }
+    /**
+     * Obtiene los ordinales de los contenidos asociados a una etiqueta.
+     * @param tagId ID de la etiqueta
+     * @return bitmap de ordinales de contenido
+     */
+
+    public BitSet getContentOrdinalsByTag(String tagId) {
+        return toOrdinals(contentIdsByTag.getOrDefault(tagId, Collections.emptySet()));
+    }
+
+    private BitSet toOrdinals(Set<String> ids) {
+        BitSet ordinals = new BitSet(contentOrdinals.capacity());
+        for (String id : ids) {
+            int ordinal = contentOrdinals.ordinalOf(id);
+            if (ordinal >= 0) {
+                ordinals.set(ordinal);
+            }
+        }
+        return ordinals;
+    }
+    /**
+     * Quita una categoría de todos los contenidos que la tienen asociada.
+     * Usa el índice inverso, por lo que sólo visita los contenidos afectados.
+     * @param category categoría a quitar
+     * @return número de contenidos afectados
+     */
+
+    public synchronized int removeCategoryFromAll(Category category) {
+        Set<String> ids = getContentIdsByCategory(category.getId());
+        for (String id : ids) {
+            Content content = contents.get(id);
+            if (content != null) {
+                content.removeCategory(category);
+            }
+        }
+        return ids.size();
+    }
+    /**
+     * Quita una etiqueta de todos los contenidos que la tienen asociada.
+     * @param tag etiqueta a quitar
+     * @return número de contenidos afectados
+     */
+
+    public synchronized int removeTagFromAll(Tag tag) {
+        Set<String> ids = getContentIdsByTag(tag.getId());
+        for (String id : ids) {
+            Content content = contents.get(id);
+            if (content != null) {
+                content.removeTag(tag);
+            }
+        }
+        return ids.size();
+    }
+    /**
+     * Agrega a un contenido la etiqueta registrada con un nombre, creándola si no existe.
+     * Nombres que sólo difieren en mayúsculas o espacios comparten la misma etiqueta.
+     * @param contentId ID del contenido
+     * @param tagName nombre de la etiqueta
+     * @return la etiqueta agregada, o null si el contenido no existe
+     */
+
+    public synchronized Tag tagContent(String contentId, String tagName) {
+        Content content = contents.get(contentId);
+        if (content == null) {
+            return null;
+        }
+        Tag tag = tagRegistry.intern(tagName);
+        content.addTag(tag);
+        return tag;
+    }
+    /**
+     * Obtiene el registro de etiquetas del catálogo.
+     * @return registro de etiquetas
+     */
+
+    public TagRegistry getTagRegistry() {
+        return tagRegistry;
+    }
+    /**
+     * Obtiene la nube de etiquetas más usadas, de mayor a menor número de contenidos.
+     * Se lee del orden mantenido por el registro, sin recorrer los contenidos.
+     * @param limit número máximo de etiquetas
+     * @return mapa ordenado de etiqueta a número de contenidos que la usan
+     */
+
+    public Map<Tag, Long> getTagCloud(int limit) {
+        return tagRegistry.top(limit);
+    }
+    /**
+     * Notifica que una categoría o etiqueta compartida cambió de nombre.
+     * Los contenidos referencian la misma instancia, por lo que basta con invalidar
+     * los datos derivados si hay contenidos afectados.
+     * @param affectedIds IDs de los contenidos que la tienen asociada
+     */
+
+    public void relationRenamed(Set<String> affectedIds) {
+        if (!affectedIds.isEmpty()) {
+            version.incrementAndGet();
+        }
+    }
+    /**
+     * Mantiene los índices inversos, las distribuciones, el cubo y la versión del catálogo
+     * cuando cambia un contenido almacenado. Los contenidos aplican sus modificaciones
+     * bajo el bloqueo del controlador, de modo que las instantáneas nunca copian un
+     * contenido a medio modificar.
+     */
+
+    private final class RelationIndexer implements IContentRelationListener {
+        @Override
+        public Object getMutex() {
+            return ContentController.this;
+        }
+
+        @Override
+        public Tag canonicalTag(Tag tag) {
+            return tagRegistry.register(tag);
+        }
+
+        @Override
+        public void onFieldsChanged(Content before, Content content) {
+            synchronized (ContentController.this) {
+                unindexContent(before);
+                indexContent(content);
+                freeze(content);
+                advanceVersion();
+                fireStoredChange(content);
+            }
+        }
+
+        @Override
+        public void onCategoryAdded(Content content, Category category) {
+            synchronized (ContentController.this) {
+                link(contentIdsByCategory, category.getId(), content.getId());
+                cube.categoryChanged(content, category.getId(), true);
+                freeze(content);
+                advanceVersion();
+                fireStoredChange(content);
+            }
+        }
+
+        @Override
+        public void onCategoryRemoved(Content content, Category category) {
+            synchronized (ContentController.this) {
+                unlink(contentIdsByCategory, category.getId(), content.getId());
+                cube.categoryChanged(content, category.getId(), false);
+                freeze(content);
+                advanceVersion();
+                fireStoredChange(content);
+            }
+        }
+
+        @Override
+        public void onTagAdded(Content content, Tag tag) {
+            synchronized (ContentController.this) {
+                link(contentIdsByTag, tag.getId(), content.getId());
+                tagRegistry.increment(tag);
+                freeze(content);
+                advanceVersion();
+                fireStoredChange(content);
+            }
+        }
+
+        @Override
+        public void onTagRemoved(Content content, Tag tag) {
+            synchronized (ContentController.this) {
+                unlink(contentIdsByTag, tag.getId(), content.getId());
+                tagRegistry.decrement(tag);
+                freeze(content);
+                advanceVersion();
+                fireStoredChange(content);
+            }
+        }
+    }
+    /**
+     * Clave de un contenido en un índice temporal. A igual fecha, el ID mayor (el generado
+     * después) se considera más reciente.
+     */
+
+    private static final class TimeKey {
+        private static final Comparator<TimeKey> NEWEST_FIRST = Comparator
+                .comparing((TimeKey k) -> k.time)
+                .thenComparing(k -> k.contentId)
+                .reversed();
+
+        private final LocalDateTime time;
+        private final String contentId;
+
+        private TimeKey(LocalDateTime time, String contentId) {
+            this.time = time;
+            this.contentId = contentId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TimeKey)) {
+                return false;
+            }
+            TimeKey other = (TimeKey) o;
+            return time.equals(other.time) && contentId.equals(other.contentId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * time.hashCode() + contentId.hashCode();
+        }
+    }
+    /**
+     * Vista ordenada de los contenidos asociada a la versión del catálogo con la que se construyó.
+     */
+
+    private static final class SortedView {
+        private final long version;
+        private final List<Content> contents;
+
+        private SortedView(long version, List<Content> contents) {
+            this.version = version;
+            this.contents = contents;
+        }
+    }
 }
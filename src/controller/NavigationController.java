@@ -3,34 +3,74 @@ import model.User;
 /**
  * Controlador responsable de la navegación entre diferentes paneles de la aplicación.
  * Gestiona la sesión del usuario actual y el panel activo.
+ * El usuario actual no se guarda: se obtiene validando el token de sesión, de modo que
+ * una sesión expirada, un usuario eliminado o un cambio de rol se reflejan de inmediato.
  * @author Carlos
  * @version 1.0
  */
 public class NavigationController {
-    private User currentUser;
+    private final AuthenticationController authController;
+    private String sessionToken;
     private String currentPanel;
     /**
-     * Construye un NavigationController vacío sin usuario ni panel activo.
-     * Inicializa el usuario actual a null y el panel activo a "login".
+     * Construye un NavigationController sin sesión abierta.
+     * Inicializa el panel activo a "login".
      * 
+     * @param authController Controlador que abre y valida las sesiones
      */
-    public NavigationController() {
-        this.currentUser = null;
+    public NavigationController(AuthenticationController authController) {
+        this.authController = authController;
         this.currentPanel = "login";
     }
+    /**
+     * Abre una sesión para un usuario autenticado, cerrando la anterior si la había.
+     * @param user Usuario que inicia sesión
+     */
+    public void startSession(User user) {
+        endSession();
+        this.sessionToken = authController.openSession(user);
+    }
+    /**
+     * Cierra la sesión actual, si la hay.
+     */
+    public void endSession() {
+        if (sessionToken != null) {
+            authController.closeSession(sessionToken);
+            sessionToken = null;
+        }
+    }
     /**
      * Establece el usuario actual de la sesión. 
-     * @param user  Usuario que inicia sesión
+     * @param user  Usuario que inicia sesión, o null para cerrar la sesión
      */
     public void setCurrentUser(User user) {
-        this.currentUser = user;
+        if (user == null) {
+            endSession();
+        } else {
+            startSession(user);
+        }
     }
-    /**}
-     * Obtiene el usuario actual de la sesión.
-     * @return Usuario actualmente autenticado
+    /**
+     * Obtiene el usuario actual de la sesión, validando su token y renovando su plazo
+     * de inactividad.
+     * @return Usuario actualmente autenticado, o null si no hay sesión o expiró
      */
     public User getCurrentUser() {
-        return currentUser;
+        if (sessionToken == null) {
+            return null;
+        }
+        User user = authController.validateSession(sessionToken);
+        if (user == null) {
+            sessionToken = null;
+        }
+        return user;
+    }
+    /**
+     * Obtiene el token de la sesión del usuario actual.
+     * @return Token de sesión, o null si no hay sesión abierta
+     */
+    public String getSessionToken() {
+        return sessionToken;
     }
     /**
      * Navega al panel especificado.
@@ -51,6 +91,6 @@ public class NavigationController {
      * @return true si hay un usuario autenticado, false en caso contrario
      */
     public boolean isUserLoggedIn() {
-        return currentUser != null;
+        return getCurrentUser() != null;
     }
 }
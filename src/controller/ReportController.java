@@ -1,15 +1,28 @@
 package controller;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import model.*;
 import model.enums.*;
+import util.DistributionSketch;
 /**
  * Controlador encargado de generar reportes estadísticos y de resumen
  * sobre los contenidos existentes en el sistema.
  */
 
 public class ReportController {
+    /**
+     * Número de contenidos a partir del cual los reportes declarativos se ejecutan en paralelo.
+     */
+    private static final int PARALLEL_THRESHOLD = 10_000;
     private final ContentController contentController;
+    /**
+     * Reportes generados por clave, junto con la versión del catálogo sobre la que se calcularon.
+     */
+    private final Map<String, CachedReport> cache;
     /**
      * Constructor que recibe el ContentController para acceder a los contenidos.
      * @param contentController controlador de contenidos
@@ -17,19 +30,54 @@ public class ReportController {
 
     public ReportController(ContentController contentController) {
         this.contentController = contentController;
+        this.cache = new ConcurrentHashMap<>();
+    }
+    /**
+     * Devuelve el reporte en caché si se generó con la versión actual del catálogo;
+     * en caso contrario lo regenera y lo almacena. Consultar la caché sólo lee la versión:
+     * los generadores que recorren contenidos toman su propia instantánea.
+     * @param key clave del reporte
+     * @param generator función que genera el reporte
+     * @return reporte vigente para la versión actual
+     */
+
+    private Report cached(String key, Supplier<Report> generator) {
+        long version = contentController.getVersion();
+        CachedReport entry = cache.get(key);
+        if (entry != null && entry.version == version) {
+            return entry.report;
+        }
+        Report report = generator.get();
+        cache.put(key, new CachedReport(version, report));
+        return report;
     }
     /**
      * Genera un reporte general con todos los contenidos y sus descripciones.
+     * La descripción de cada contenido se genera al leerla, no al crear el reporte.
      * @return objeto Report con los datos
      */
 
     public Report generateGeneralReport() {
+        return cached("general", () -> buildGeneralReport(contentController.snapshot()));
+    }
+
+    private Report buildGeneralReport(ContentSnapshot snapshot) {
         Report report = new Report(UUID.randomUUID().toString(), "Reporte General");
         Map<String, Object> data = new HashMap<>();
 
-        List<Content> allContents = contentController.getAllContents();
+        List<Content> allContents = snapshot.getContents();
         data.put("totalContents", allContents.size());
-        data.put("contents", allContents.stream().map(Content::generateReport).collect(Collectors.toList()));
+        data.put("contents", new AbstractList<String>() {
+            @Override
+            public String get(int index) {
+                return allContents.get(index).generateReport();
+            }
+
+            @Override
+            public int size() {
+                return allContents.size();
+            }
+        });
 
         report.setData(data);
         return report;
@@ -40,12 +88,17 @@ public class ReportController {
      */
 
     public Report generateReportByType() {
+        return cached("type", () -> buildReportByType(contentController.snapshot()));
+    }
+
+    private Report buildReportByType(ContentSnapshot snapshot) {
         Report report = new Report(UUID.randomUUID().toString(), "Reporte por Tipo");
         Map<String, Object> data = new HashMap<>();
 
-        data.put("articles", contentController.getContentByType(Article.class).size());
-        data.put("videos", contentController.getContentByType(Video.class).size());
-        data.put("images", contentController.getContentByType(Image.class).size());
+        Map<ContentType, Long> byType = countByType(snapshot.getContents());
+        data.put("articles", byType.get(ContentType.ARTICLE));
+        data.put("videos", byType.get(ContentType.VIDEO));
+        data.put("images", byType.get(ContentType.IMAGE));
 
         report.setData(data);
         return report;
@@ -56,10 +109,14 @@ public class ReportController {
      */
 
     public Report generateReportByAuthor() {
+        return cached("author", () -> buildReportByAuthor(contentController.snapshot()));
+    }
+
+    private Report buildReportByAuthor(ContentSnapshot snapshot) {
         Report report = new Report(UUID.randomUUID().toString(), "Reporte por Autor");
         Map<String, Object> data = new HashMap<>();
 
-        Map<String, Long> authorCounts = contentController.getAllContents().stream()
+        Map<String, Long> authorCounts = snapshot.getContents().stream()
                 .collect(Collectors.groupingBy(
                         c -> c.getAuthor().getUsername(),
                         Collectors.counting()
@@ -76,21 +133,275 @@ public class ReportController {
      */
 
     public Report generateStatistics() {
+        return cached("statistics", () -> buildStatistics(contentController.snapshot()));
+    }
+
+    private Report buildStatistics(ContentSnapshot snapshot) {
         Report report = new Report(UUID.randomUUID().toString(), "Estadísticas");
         Map<String, Object> data = new HashMap<>();
 
-        List<Content> all = contentController.getAllContents();
+        List<Content> all = snapshot.getContents();
         long published = all.stream().filter(c -> c.getState() == ContentState.PUBLISHED).count();
         long draft = all.stream().filter(c -> c.getState() == ContentState.DRAFT).count();
 
         data.put("totalContents", all.size());
         data.put("publishedContents", published);
         data.put("draftContents", draft);
-        data.put("articleCount", contentController.getContentByType(Article.class).size());
-        data.put("videoCount", contentController.getContentByType(Video.class).size());
-        data.put("imageCount", contentController.getContentByType(Image.class).size());
+        Map<ContentType, Long> byType = countByType(all);
+        data.put("articleCount", byType.get(ContentType.ARTICLE));
+        data.put("videoCount", byType.get(ContentType.VIDEO));
+        data.put("imageCount", byType.get(ContentType.IMAGE));
+
+        report.setData(data);
+        return report;
+    }
+
+    private static Map<ContentType, Long> countByType(List<Content> contents) {
+        Map<ContentType, Long> counts = new EnumMap<>(ContentType.class);
+        for (ContentType type : ContentType.values()) {
+            counts.put(type, 0L);
+        }
+        for (Content content : contents) {
+            if (content.getContentType() != null) {
+                counts.merge(content.getContentType(), 1L, Long::sum);
+            }
+        }
+        return counts;
+    }
+    /**
+     * Genera un reporte con la distribución de las métricas numéricas de los contenidos
+     * (duración de videos, tamaño y dimensiones de imágenes, palabras por artículo).
+     * Los percentiles se leen de distribuciones mantenidas incrementalmente,
+     * sin recorrer los contenidos.
+     * @return objeto Report con mínimo, máximo, suma y percentiles p50/p90/p99 por métrica
+     */
+
+    public Report generateDistributionReport() {
+        return cached("distribution", this::buildDistributionReport);
+    }
+
+    private Report buildDistributionReport() {
+        Report report = new Report(UUID.randomUUID().toString(), "Distribuciones");
+        Map<String, Object> data = new LinkedHashMap<>();
+
+        for (ContentMetric metric : ContentMetric.values()) {
+            DistributionSketch sketch = contentController.getDistribution(metric);
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", sketch.getCount());
+            summary.put("min", sketch.getMin());
+            summary.put("p50", sketch.getQuantile(0.5));
+            summary.put("p90", sketch.getQuantile(0.9));
+            summary.put("p99", sketch.getQuantile(0.99));
+            summary.put("max", sketch.getMax());
+            summary.put("sum", sketch.getSum());
+            data.put(metric.getDisplayName(), summary);
+        }
+
+        report.setData(data);
+        return report;
+    }
+    /**
+     * Genera la nube de etiquetas más usadas. El orden por uso lo mantiene el registro
+     * de etiquetas, por lo que el costo depende del límite y no del número de contenidos.
+     * @param limit número máximo de etiquetas
+     * @return objeto Report con el número de contenidos por etiqueta, de mayor a menor
+     */
+
+    public Report generateTagCloudReport(int limit) {
+        return cached("tags:" + limit, () -> buildTagCloudReport(limit));
+    }
+
+    private Report buildTagCloudReport(int limit) {
+        Report report = new Report(UUID.randomUUID().toString(), "Etiquetas más usadas");
+        Map<String, Object> data = new LinkedHashMap<>();
+        for (Map.Entry<Tag, Long> entry : contentController.getTagCloud(limit).entrySet()) {
+            data.put(entry.getKey().getName(), entry.getValue());
+        }
+        report.setData(data);
+        return report;
+    }
+    /**
+     * Abre un cursor sobre las filas de texto de un reporte, con un encabezado
+     * que indica el tipo y la fecha de generación y una línea separadora al final.
+     * Las filas se generan bajo demanda, por lo que abrir el cursor no depende
+     * del tamaño del reporte.
+     * @param report reporte a recorrer
+     * @return cursor sobre las filas del reporte
+     */
+
+    public ReportCursor openCursor(Report report) {
+        String separator = "═".repeat(60);
+        return new ReportCursor(report, Arrays.asList(
+                separator,
+                "REPORTE: " + report.getType(),
+                "Generado: " + report.getGeneratedAt(),
+                separator,
+                ""), Arrays.asList(
+                "",
+                separator));
+    }
+    /**
+     * Cuenta los contenidos que cumplen una combinación de filtros por dimensión
+     * (por ejemplo: videos publicados de editor1 en la categoría Web en un mes dado).
+     * La consulta se resuelve sobre el cubo agregado, sin recorrer los contenidos.
+     * @param filters valores requeridos por dimensión; las dimensiones ausentes no filtran
+     * @return número de contenidos que cumplen los filtros
+     */
+
+    public long countContents(Map<CubeDimension, Object> filters) {
+        return contentController.getCube().count(filters);
+    }
+    /**
+     * Genera un reporte agrupando por una dimensión los contenidos que cumplen los filtros.
+     * @param groupBy dimensión de agrupación
+     * @param filters valores requeridos por dimensión; las dimensiones ausentes no filtran
+     * @return objeto Report con el total y el conteo por valor de la dimensión
+     */
+
+    public Report generateRollUpReport(CubeDimension groupBy, Map<CubeDimension, Object> filters) {
+        Report report = new Report(UUID.randomUUID().toString(), "Reporte por " + groupBy.getDisplayName());
+        Map<String, Object> data = new LinkedHashMap<>();
+
+        Map<Object, Long> counts = contentController.getCube().rollUp(groupBy, filters);
+        data.put("filters", new LinkedHashMap<>(filters));
+        data.put("total", counts.values().stream().mapToLong(Long::longValue).sum());
+        data.put("groups", counts);
+
+        report.setData(data);
+        return report;
+    }
+    /**
+     * Ejecuta un reporte declarativo en una sola pasada sobre una instantánea de los contenidos.
+     * Cada contenido se evalúa una vez para todas las agregaciones de la especificación,
+     * y la pasada se paraleliza cuando el catálogo es grande.
+     * @param spec especificación del reporte
+     * @return objeto Report con los resultados por grupo
+     */
+
+    public Report execute(ReportSpec spec) {
+        Report report = new Report(UUID.randomUUID().toString(), spec.getTitle());
+        Map<String, Object> data = new LinkedHashMap<>();
+
+        List<Content> contents = contentController.snapshot().getContents();
+        boolean needsReportData = spec.needsReportData();
+        Stream<Content> stream = contents.size() >= PARALLEL_THRESHOLD ? contents.parallelStream() : contents.stream();
+        Map<Object, Accumulator[]> groups = stream.collect(Collector.of(
+                HashMap::new,
+                (acc, content) -> accumulate(spec, needsReportData, acc, content),
+                ReportController::combine));
+
+        Map<Object, Map<String, Object>> results = new LinkedHashMap<>();
+        List<ReportSpec.Aggregation> aggregations = spec.getAggregations();
+        for (Map.Entry<Object, Accumulator[]> group : groups.entrySet()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < aggregations.size(); i++) {
+                row.put(aggregations.get(i).getName(), group.getValue()[i].result());
+            }
+            results.put(group.getKey(), row);
+        }
+        data.put("groupBy", spec.getGroupByName());
+        data.put("groups", results);
 
         report.setData(data);
         return report;
     }
+
+    private static void accumulate(ReportSpec spec, boolean needsReportData,
+                                   Map<Object, Accumulator[]> groups, Content content) {
+        Map<String, Object> reportData = needsReportData ? content.getReportData() : null;
+        List<ReportSpec.Aggregation> aggregations = spec.getAggregations();
+        Accumulator[] accumulators = groups.computeIfAbsent(spec.groupKey(content, reportData), k -> {
+            Accumulator[] created = new Accumulator[aggregations.size()];
+            for (int i = 0; i < created.length; i++) {
+                created[i] = new Accumulator(aggregations.get(i).getType());
+            }
+            return created;
+        });
+        for (int i = 0; i < accumulators.length; i++) {
+            accumulators[i].add(aggregations.get(i).valueOf(content, reportData));
+        }
+    }
+
+    private static Map<Object, Accumulator[]> combine(Map<Object, Accumulator[]> left, Map<Object, Accumulator[]> right) {
+        for (Map.Entry<Object, Accumulator[]> entry : right.entrySet()) {
+            Accumulator[] existing = left.putIfAbsent(entry.getKey(), entry.getValue());
+            if (existing != null) {
+                for (int i = 0; i < existing.length; i++) {
+                    existing[i].merge(entry.getValue()[i]);
+                }
+            }
+        }
+        return left;
+    }
+    /**
+     * Estado parcial de una agregación para un grupo. Los valores nulos se ignoran
+     * y las agregaciones numéricas ignoran los valores no numéricos.
+     */
+
+    private static final class Accumulator {
+        private final AggregationType type;
+        private long count;
+        private double sum;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+        private Set<Object> distinct;
+
+        private Accumulator(AggregationType type) {
+            this.type = type;
+            if (type == AggregationType.DISTINCT) {
+                this.distinct = new HashSet<>();
+            }
+        }
+
+        private void add(Object value) {
+            if (value == null) {
+                return;
+            }
+            if (type == AggregationType.COUNT) {
+                count++;
+            } else if (type == AggregationType.DISTINCT) {
+                distinct.add(value);
+            } else if (value instanceof Number number) {
+                double v = number.doubleValue();
+                count++;
+                sum += v;
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+        }
+
+        private void merge(Accumulator other) {
+            count += other.count;
+            sum += other.sum;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            if (distinct != null) {
+                distinct.addAll(other.distinct);
+            }
+        }
+
+        private Object result() {
+            return switch (type) {
+                case COUNT -> count;
+                case SUM -> sum;
+                case MIN -> count == 0 ? null : min;
+                case MAX -> count == 0 ? null : max;
+                case AVG -> count == 0 ? null : sum / count;
+                case DISTINCT -> distinct.size();
+            };
+        }
+    }
+    /**
+     * Entrada de la caché de reportes.
+     */
+
+    private static final class CachedReport {
+        private final long version;
+        private final Report report;
+
+        private CachedReport(long version, Report report) {
+            this.version = version;
+            this.report = report;
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package controller;
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import model.*;
 import model.enums.*;
@@ -8,13 +9,25 @@ import model.enums.*;
  */
 public class SearchController {
     private final ContentController contentController;
+    private final CategoryController categoryController;
     /**
      * Constructor que recibe una instancia del ContentController para operar sobre los contenidos.
      * @param contentController controlador principal de contenidos
      */
 
     public SearchController(ContentController contentController) {
+        this(contentController, null);
+    }
+    /**
+     * Constructor que además recibe el CategoryController, lo que permite resolver
+     * los filtros por categoría con el índice inverso en lugar de recorrer el catálogo.
+     * @param contentController controlador principal de contenidos
+     * @param categoryController controlador de categorías (puede ser null)
+     */
+
+    public SearchController(ContentController contentController, CategoryController categoryController) {
         this.contentController = contentController;
+        this.categoryController = categoryController;
     }
     /**
      * Busca contenidos que coincidan con una palabra clave.
@@ -63,14 +76,31 @@ public class SearchController {
         return contentController.getContentByAuthor(author);
     }
     /**
-     * Filtra los contenidos que pertenecen a una categoría dada.
+     * Filtra los contenidos que pertenecen a una categoría dada o a cualquiera de sus
+     * subcategorías. Con CategoryController disponible, se unen los índices inversos
+     * de las categorías del subárbol (un rango contiguo en preorden), visitando sólo los
+     * contenidos afectados; si no, se compara el intervalo en preorden de cada categoría.
      * @param category categoría de referencia
-     * @return lista de contenidos en la categoría
+     * @return lista de contenidos en el subárbol de la categoría
      */
 
     public List<Content> filterByCategory(Category category) {
+        if (categoryController != null) {
+            Set<String> ids = new LinkedHashSet<>();
+            for (Category member : categoryController.getSubtree(category)) {
+                ids.addAll(contentController.getContentIdsByCategory(member.getId()));
+            }
+            List<Content> result = new ArrayList<>(ids.size());
+            for (String id : ids) {
+                Content content = contentController.getContentById(id);
+                if (content != null) {
+                    result.add(content);
+                }
+            }
+            return result;
+        }
         return contentController.getAllContents().stream()
-                .filter(c -> c.getCategories().contains(category))
+                .filter(c -> c.getCategories().stream().anyMatch(category::containsInSubtree))
                 .collect(Collectors.toList());
     }
     /**
@@ -83,14 +113,21 @@ public class SearchController {
 
     public List<Content> advancedSearch(String keyword, ContentType type, ContentState state) {
         return contentController.getAllContents().stream()
-                .filter(c -> c.search(keyword))
-                .filter(c -> {
-                    if (type == ContentType.ARTICLE) return c instanceof Article;
-                    if (type == ContentType.VIDEO) return c instanceof Video;
-                    if (type == ContentType.IMAGE) return c instanceof Image;
-                    return true;
-                })
-                .filter(c -> state == null || c.getState() == state)
+                .filter(criteria(keyword, type, state))
                 .collect(Collectors.toList());
     }
+    /**
+     * Construye el criterio de una búsqueda avanzada, para evaluar contenidos individuales
+     * (por ejemplo, al decidir si un contenido modificado entra o sale de unos resultados).
+     * @param keyword palabra clave
+     * @param type tipo de contenido (puede ser null)
+     * @param state estado del contenido (puede ser null)
+     * @return predicado que cumplen los contenidos que coinciden con la búsqueda
+     */
+
+    public Predicate<Content> criteria(String keyword, ContentType type, ContentState state) {
+        return c -> c.search(keyword)
+                && (type == null || c.getContentType() == type)
+                && (state == null || c.getState() == state);
+    }
 }
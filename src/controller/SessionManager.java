@@ -0,0 +1,200 @@
+package controller;
+import java.security.SecureRandom;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import model.User;
+/**
+ * Gestor de sesiones concurrentes identificadas por tokens opacos.
+ * Las sesiones se guardan en un mapa concurrente, por lo que validar un token es O(1),
+ * y expiran por inactividad mediante una rueda de temporización que revisa una sola
+ * ranura por tick en lugar de recorrer todas las sesiones.
+ * Los usuarios resueltos se mantienen en una caché LRU acotada.
+ */
+
+public class SessionManager {
+    /**
+     * Número de ranuras de la rueda de temporización.
+     */
+    private static final int WHEEL_SLOTS = 2048;
+    /**
+     * Duración de cada tick de la rueda, en milisegundos.
+     */
+    private static final long TICK_MILLIS = 1000;
+    private static final int TOKEN_BYTES = 32;
+
+    private final long timeoutMillis;
+    private final Map<String, Session> sessions;
+    private final List<Set<String>> wheel;
+    private final Map<String, User> userCache;
+    private final Function<String, User> userLoader;
+    private final SecureRandom random;
+    private final ScheduledExecutorService ticker;
+    private long lastTick;
+    /**
+     * Crea un gestor con 30 minutos de inactividad máxima y caché de 10.000 usuarios.
+     * @param userLoader función que obtiene un usuario por su ID cuando no está en caché
+     */
+
+    public SessionManager(Function<String, User> userLoader) {
+        this(userLoader, TimeUnit.MINUTES.toMillis(30), 10_000);
+    }
+    /**
+     * Crea un gestor de sesiones.
+     * @param userLoader función que obtiene un usuario por su ID cuando no está en caché
+     * @param timeoutMillis tiempo de inactividad tras el cual expira una sesión
+     * @param userCacheSize número máximo de usuarios resueltos en caché
+     */
+
+    public SessionManager(Function<String, User> userLoader, long timeoutMillis, int userCacheSize) {
+        this.userLoader = userLoader;
+        this.timeoutMillis = timeoutMillis;
+        this.sessions = new ConcurrentHashMap<>();
+        this.wheel = new ArrayList<>(WHEEL_SLOTS);
+        for (int i = 0; i < WHEEL_SLOTS; i++) {
+            wheel.add(ConcurrentHashMap.newKeySet());
+        }
+        this.userCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, User> eldest) {
+                return size() > userCacheSize;
+            }
+        });
+        this.random = new SecureRandom();
+        this.lastTick = System.currentTimeMillis() / TICK_MILLIS;
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "session-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::expire, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+    /**
+     * Abre una sesión para un usuario autenticado.
+     * @param user usuario autenticado
+     * @return token opaco que identifica la sesión
+     */
+
+    public String openSession(User user) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Session session = new Session(user.getId(), System.currentTimeMillis() + timeoutMillis);
+        sessions.put(token, session);
+        userCache.put(user.getId(), user);
+        schedule(token, session.expiresAt);
+        return token;
+    }
+    /**
+     * Valida un token y renueva el plazo de inactividad de su sesión.
+     * @param token token de sesión
+     * @return usuario de la sesión, o null si el token no existe o expiró
+     */
+
+    public User validate(String token) {
+        if (token == null) {
+            return null;
+        }
+        Session session = sessions.get(token);
+        long now = System.currentTimeMillis();
+        if (session == null) {
+            return null;
+        }
+        if (session.expiresAt <= now) {
+            sessions.remove(token, session);
+            return null;
+        }
+        session.expiresAt = now + timeoutMillis;
+        User user = userCache.get(session.userId);
+        if (user == null) {
+            user = userLoader.apply(session.userId);
+            if (user == null) {
+                sessions.remove(token, session);
+                return null;
+            }
+            userCache.put(session.userId, user);
+        }
+        return user;
+    }
+    /**
+     * Cierra una sesión.
+     * @param token token de la sesión a cerrar
+     */
+
+    public void closeSession(String token) {
+        if (token != null) {
+            sessions.remove(token);
+        }
+    }
+    /**
+     * Descarta de la caché un usuario resuelto, por ejemplo tras cambiar su rol o eliminarlo.
+     * @param userId ID del usuario
+     */
+
+    public void invalidateUser(String userId) {
+        userCache.remove(userId);
+    }
+    /**
+     * Obtiene el número de sesiones activas (incluye las vencidas aún no recolectadas).
+     * @return número de sesiones
+     */
+
+    public int getActiveSessionCount() {
+        return sessions.size();
+    }
+    /**
+     * Detiene el hilo de expiración de sesiones.
+     */
+
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    private void schedule(String token, long expiresAt) {
+        wheel.get(slotOf(expiresAt / TICK_MILLIS)).add(token);
+    }
+
+    private static int slotOf(long tick) {
+        return (int) (tick % WHEEL_SLOTS);
+    }
+    /**
+     * Avanza la rueda sobre los ticks ya transcurridos. Cada ranura vencida se vacía:
+     * las sesiones expiradas se eliminan y las renovadas desde que se programaron se reprograman.
+     */
+
+    private void expire() {
+        long now = System.currentTimeMillis();
+        long currentTick = now / TICK_MILLIS;
+        long from = Math.max(lastTick, currentTick - WHEEL_SLOTS);
+        for (long tick = from; tick < currentTick; tick++) {
+            int slotIndex = slotOf(tick);
+            for (Iterator<String> it = wheel.get(slotIndex).iterator(); it.hasNext(); ) {
+                String token = it.next();
+                Session session = sessions.get(token);
+                if (session == null) {
+                    it.remove();
+                } else if (session.expiresAt <= now) {
+                    it.remove();
+                    sessions.remove(token, session);
+                } else if (slotOf(session.expiresAt / TICK_MILLIS) != slotIndex) {
+                    it.remove();
+                    schedule(token, session.expiresAt);
+                }
+            }
+        }
+        lastTick = currentTick;
+    }
+    /**
+     * Datos de una sesión abierta.
+     */
+
+    private static final class Session {
+        private final String userId;
+        private volatile long expiresAt;
+
+        private Session(String userId, long expiresAt) {
+            this.userId = userId;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
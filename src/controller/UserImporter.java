@@ -0,0 +1,177 @@
+package controller;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import model.ImportResult;
+import model.User;
+import model.enums.UserRole;
+import util.IDGenerator;
+/**
+ * Importador masivo de usuarios desde archivos CSV.
+ * Lee el archivo línea a línea con un lector con búfer, valida cada fila y registra
+ * los usuarios válidos por lotes en el AuthenticationController. Los errores se
+ * informan por fila sin interrumpir la importación, y la memoria usada depende
+ * del tamaño de lote, no del tamaño del archivo.
+ *
+ * <p>Formato esperado (la cabecera es opcional): {@code id,username,email,role}.
+ * Si el ID está vacío se genera uno; el rol acepta el nombre del enum o su nombre descriptivo.</p>
+ */
+
+public class UserImporter {
+    /**
+     * Número de usuarios registrados por lote.
+     */
+    private static final int BATCH_SIZE = 1000;
+    /**
+     * Marca de orden de bytes que Excel y otros programas escriben al inicio de los CSV en UTF-8.
+     */
+    private static final char BOM = '\uFEFF';
+    private final AuthenticationController authController;
+    /**
+     * Constructor que recibe el controlador donde se registran los usuarios.
+     * @param authController controlador de autenticación
+     */
+
+    public UserImporter(AuthenticationController authController) {
+        this.authController = authController;
+    }
+    /**
+     * Importa los usuarios de un archivo CSV en UTF-8.
+     * @param file ruta del archivo
+     * @return resultado con el número de usuarios importados y los errores por fila
+     * @throws IOException si el archivo no puede leerse
+     */
+
+    public ImportResult importCsv(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importCsv(reader);
+        }
+    }
+    /**
+     * Importa los usuarios leídos de un lector de texto CSV.
+     * @param reader lector con búfer del contenido CSV
+     * @return resultado con el número de usuarios importados y los errores por fila
+     * @throws IOException si ocurre un error de lectura
+     */
+
+    public ImportResult importCsv(BufferedReader reader) throws IOException {
+        ImportResult result = new ImportResult();
+        List<User> batch = new ArrayList<>(BATCH_SIZE);
+        Map<User, Long> lineOf = new IdentityHashMap<>(BATCH_SIZE * 2);
+        String line;
+        long lineNumber = 0;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber == 1 && !line.isEmpty() && line.charAt(0) == BOM) {
+                line = line.substring(1);
+            }
+            if (line.isBlank() || (lineNumber == 1 && isHeader(line))) {
+                continue;
+            }
+            try {
+                User user = parseRow(line);
+                batch.add(user);
+                lineOf.put(user, lineNumber);
+            } catch (IllegalArgumentException e) {
+                result.addError(lineNumber, e.getMessage());
+            }
+            if (batch.size() == BATCH_SIZE) {
+                flush(batch, lineOf, result);
+            }
+        }
+        flush(batch, lineOf, result);
+        return result;
+    }
+
+    private void flush(List<User> batch, Map<User, Long> lineOf, ImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<User> rejected = authController.createUsers(batch);
+        for (User user : rejected) {
+            result.addError(lineOf.get(user), "ID o nombre de usuario duplicado: " + user.getId() + " / " + user.getUsername());
+        }
+        result.addImported(batch.size() - rejected.size());
+        batch.clear();
+        lineOf.clear();
+    }
+
+    private static boolean isHeader(String line) {
+        return line.trim().toLowerCase(Locale.ROOT).startsWith("id,");
+    }
+    /**
+     * Convierte una fila CSV en un usuario validado.
+     * @param line fila CSV
+     * @return usuario construido a partir de la fila
+     * @throws IllegalArgumentException si la fila no es válida
+     */
+
+    private static User parseRow(String line) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() != 4) {
+            throw new IllegalArgumentException("Se esperaban 4 columnas y hay " + fields.size());
+        }
+        String id = fields.get(0).trim();
+        String username = fields.get(1).trim();
+        String email = fields.get(2).trim();
+        String roleName = fields.get(3).trim();
+
+        if (username.isEmpty()) {
+            throw new IllegalArgumentException("Nombre de usuario vacío");
+        }
+        if (email.indexOf('@') <= 0 || email.indexOf('@') == email.length() - 1) {
+            throw new IllegalArgumentException("Email inválido: " + email);
+        }
+        UserRole role = parseRole(roleName);
+        if (role == null) {
+            throw new IllegalArgumentException("Rol desconocido: " + roleName);
+        }
+        return new User(id.isEmpty() ? IDGenerator.generate("usr") : id, username, email, role);
+    }
+
+    private static UserRole parseRole(String name) {
+        for (UserRole role : UserRole.values()) {
+            if (role.name().equalsIgnoreCase(name) || role.getDisplayName().equalsIgnoreCase(name)) {
+                return role;
+            }
+        }
+        return null;
+    }
+    /**
+     * Separa una fila CSV en campos, admitiendo comillas dobles y comillas escapadas ("").
+     * @param line fila CSV
+     * @return lista de campos
+     */
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (quoted) {
+                if (ch == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (ch == '"') {
+                    quoted = false;
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(ch);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -1,6 +1,6 @@
 package model;
 
-import java.time.LocalDateTime;
+import model.enums.ContentType;
 
 /**
  * Representa un contenido de tipo artículo dentro del sistema.
@@ -23,6 +23,25 @@ public class Article extends Content {
         this.content = "";
         this.wordCount = 0;
     }
+    /**
+     * Constructor de copia.
+     * @param other artículo a copiar
+     */
+
+    protected Article(Article other) {
+        super(other);
+        this.content = other.content;
+        this.wordCount = other.wordCount;
+    }
+    /**
+     * Crea una copia independiente del artículo.
+     * @return copia con el mismo estado y revisión
+     */
+
+    @Override
+    public Article copy() {
+        return new Article(this);
+    }
     /**
      * Obtiene el contenido textual del artículo.
      * @return texto completo
@@ -37,9 +56,10 @@ public class Article extends Content {
      */
 
     public void setContent(String content) {
-        this.content = content;
-        calculateWordCount();
-        this.updatedAt = LocalDateTime.now();
+        modify(() -> {
+            this.content = content;
+            calculateWordCount();
+        });
     }
     /**
      * Devuelve la cantidad de palabras del artículo.
@@ -56,6 +76,15 @@ public class Article extends Content {
     private void calculateWordCount() {
         this.wordCount = content.trim().isEmpty() ? 0 : content.trim().split("\\s+").length;
     }
+    /**
+     * Obtiene el tipo de contenido.
+     * @return {@link ContentType#ARTICLE}
+     */
+
+    @Override
+    public ContentType getContentType() {
+        return ContentType.ARTICLE;
+    }
     /**
      * Devuelve una representación textual del artículo.
      * @return cadena con título, número de palabras y estado
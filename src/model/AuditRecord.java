@@ -0,0 +1,66 @@
+package model;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import model.enums.AuditAction;
+
+/**
+ * Entrada del log de auditoría: quién realizó qué acción sobre qué contenido y cuándo.
+ */
+public class AuditRecord {
+    private final long timestamp;
+    private final String userId;
+    private final AuditAction action;
+    private final String contentId;
+
+    /**
+     * Construye una entrada de auditoría.
+     *
+     * @param timestamp milisegundos desde la época Unix
+     * @param userId ID del usuario que realizó la acción
+     * @param action acción realizada
+     * @param contentId ID del contenido afectado
+     */
+    public AuditRecord(long timestamp, String userId, AuditAction action, String contentId) {
+        this.timestamp = timestamp;
+        this.userId = userId;
+        this.action = action;
+        this.contentId = contentId;
+    }
+
+    /**
+     * Obtiene el instante de la acción en milisegundos desde la época Unix.
+     *
+     * @return marca de tiempo de la acción
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Obtiene la fecha y hora local de la acción.
+     *
+     * @return fecha y hora de la acción
+     */
+    public LocalDateTime getDateTime() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public AuditAction getAction() {
+        return action;
+    }
+
+    public String getContentId() {
+        return contentId;
+    }
+
+    @Override
+    public String toString() {
+        return getDateTime() + " " + userId + " " + action.getDisplayName() + " " + contentId;
+    }
+}
@@ -8,9 +8,13 @@ public class Category {
     private final String id;
     private String name;
     private String description;
+    private String parentId;
+    private int subtreeStart;
+    private int subtreeEnd;
 
     /**
      * Constructor de la clase Category.
+     * La categoría se crea como raíz y sin intervalo de subárbol asignado.
      *
      * @param id Identificador único de la categoría
      * @param name Nombre de la categoría
@@ -20,6 +24,9 @@ public class Category {
         this.id = id;
         this.name = name;
         this.description = description;
+        this.parentId = null;
+        this.subtreeStart = -1;
+        this.subtreeEnd = -1;
     }
 
     /**
@@ -67,6 +74,69 @@ public class Category {
         this.description = description;
     }
 
+    /**
+     * Obtiene el ID de la categoría padre.
+     *
+     * @return El ID del padre, o null si es una categoría raíz
+     */
+    public String getParentId() {
+        return parentId;
+    }
+
+    /**
+     * Establece la categoría padre. La jerarquía la mantiene CategoryController,
+     * que recalcula los intervalos de subárbol tras cada cambio.
+     *
+     * @param parentId El ID del nuevo padre, o null para convertirla en raíz
+     */
+    public void setParentId(String parentId) {
+        this.parentId = parentId;
+    }
+
+    /**
+     * Obtiene la posición de la categoría en el recorrido en preorden de la jerarquía.
+     *
+     * @return El inicio del intervalo del subárbol, o -1 si no está asignado
+     */
+    public int getSubtreeStart() {
+        return subtreeStart;
+    }
+
+    /**
+     * Obtiene la posición del último descendiente en el recorrido en preorden.
+     *
+     * @return El fin (inclusive) del intervalo del subárbol, o -1 si no está asignado
+     */
+    public int getSubtreeEnd() {
+        return subtreeEnd;
+    }
+
+    /**
+     * Asigna el intervalo del subárbol en el recorrido en preorden.
+     *
+     * @param start Posición de la categoría
+     * @param end Posición de su último descendiente (inclusive)
+     */
+    public void setSubtreeInterval(int start, int end) {
+        this.subtreeStart = start;
+        this.subtreeEnd = end;
+    }
+
+    /**
+     * Verifica si otra categoría pertenece al subárbol de ésta (incluida ella misma).
+     * Con los intervalos asignados es una comparación de enteros; sin ellos,
+     * se compara sólo por identidad de ID.
+     *
+     * @param other La categoría a verificar
+     * @return true si la otra categoría es ésta o una descendiente
+     */
+    public boolean containsInSubtree(Category other) {
+        if (subtreeStart < 0 || other.subtreeStart < 0) {
+            return equals(other);
+        }
+        return other.subtreeStart >= subtreeStart && other.subtreeStart <= subtreeEnd;
+    }
+
     /**
      * Representa la categoría como una cadena de texto.
      *
@@ -88,4 +158,15 @@ public class Category {
     public boolean equals(Object obj) {
         return obj instanceof Category && ((Category) obj).id.equals(this.id);
     }
+
+    /**
+     * Calcula el código hash de la categoría a partir de su ID,
+     * de forma coherente con {@link #equals(Object)}.
+     *
+     * @return El código hash de la categoría
+     */
+    @Override
+    public int hashCode() {
+        return id.hashCode();
+    }
 }
@@ -2,25 +2,35 @@ package model;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import model.interfaces.*;
 import model.enums.ContentState;
-import model.enums.UserRole;
+import model.enums.ContentType;
+import model.enums.Permission;
 /**
  * Clase base abstracta para todos los tipos de contenido del sistema.
  * Implementa las interfaces de publicación, búsqueda, reportes y edición.
  */
 
 public class Content implements IPublishable, ISearchable, IReportable, IEditableByRole  {
+    /**
+     * Secuencia global de revisiones: dos versiones distintas de cualquier contenido
+     * nunca comparten número de revisión.
+     */
+    private static final AtomicLong REVISION_SEQUENCE = new AtomicLong();
     protected String id;
     protected String title;
     protected String description;
     protected User author;
     protected ContentState state;
-    protected List<Category> categories;
-    protected List<Tag> tags;
+    protected Set<Category> categories;
+    protected Set<Tag> tags;
     protected LocalDateTime createdAt;
     protected LocalDateTime updatedAt;
     protected LocalDateTime publishedAt;
+    protected long revision;
+    private volatile IContentRelationListener relationListener;
     /**
      * Constructor protegido que inicializa los campos básicos del contenido.
      * @param id identificador único
@@ -35,10 +45,95 @@ public class Content implements IPublishable, ISearchable, IReportable, IEditabl
         this.description = description;
         this.author = author;
         this.state = ContentState.DRAFT;
-        this.categories = new ArrayList<>();
-        this.tags = new ArrayList<>();
+        this.categories = new LinkedHashSet<>();
+        this.tags = new LinkedHashSet<>();
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
+        this.revision = REVISION_SEQUENCE.incrementAndGet();
+    }
+    /**
+     * Constructor de copia usado para crear versiones inmutables del contenido.
+     * @param other contenido a copiar
+     */
+
+    protected Content(Content other) {
+        this.id = other.id;
+        this.title = other.title;
+        this.description = other.description;
+        this.author = other.author;
+        this.state = other.state;
+        this.categories = new LinkedHashSet<>(other.categories);
+        this.tags = new LinkedHashSet<>(other.tags);
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+        this.publishedAt = other.publishedAt;
+        this.revision = other.revision;
+    }
+    /**
+     * Crea una copia independiente del contenido con su revisión actual.
+     * Las subclases devuelven una copia de su mismo tipo.
+     * @return copia del contenido
+     */
+
+    public Content copy() {
+        return new Content(this);
+    }
+    /**
+     * Registra una modificación: actualiza la fecha de modificación e incrementa la revisión.
+     */
+
+    protected void touch() {
+        this.updatedAt = LocalDateTime.now();
+        this.revision = REVISION_SEQUENCE.incrementAndGet();
+    }
+    /**
+     * Aplica una modificación a los campos del contenido y registra la nueva revisión.
+     * Si el contenido está almacenado, la modificación se hace bajo el bloqueo del
+     * controlador que lo almacena, al que se notifica con una copia del estado anterior
+     * para que retire los valores viejos de sus datos derivados.
+     * @param change modificación a aplicar
+     */
+
+    protected final void modify(Runnable change) {
+        withListener(listener -> {
+            Content before = listener != null ? copy() : null;
+            change.run();
+            touch();
+            if (listener != null) {
+                listener.onFieldsChanged(before, this);
+            }
+        });
+    }
+    /**
+     * Ejecuta una modificación bajo el bloqueo del objeto notificado, si lo hay.
+     * Si el contenido deja de estar almacenado mientras se espera el bloqueo,
+     * se vuelve a intentar con el objeto notificado vigente.
+     * @param change modificación que recibe el objeto a notificar, o null
+     */
+
+    private void withListener(Consumer<IContentRelationListener> change) {
+        while (true) {
+            IContentRelationListener listener = relationListener;
+            if (listener == null) {
+                change.accept(null);
+                return;
+            }
+            synchronized (listener.getMutex()) {
+                if (relationListener == listener) {
+                    change.accept(listener);
+                    return;
+                }
+            }
+        }
+    }
+    /**
+     * Obtiene la revisión del contenido, que cambia con cada modificación.
+     * Una copia con la misma revisión que el original representa su estado actual.
+     * @return número de revisión
+     */
+
+    public long getRevision() {
+        return revision;
     }
 
     public String getId() {
@@ -50,8 +145,7 @@ public class Content implements IPublishable, ISearchable, IReportable, IEditabl
     }
 
     public void setTitle(String title) {
-        this.title = title;
-        this.updatedAt = LocalDateTime.now();
+        modify(() -> this.title = title);
     }
 
     public String getDescription() {
@@ -59,8 +153,16 @@ public class Content implements IPublishable, ISearchable, IReportable, IEditabl
     }
 
     public void setDescription(String description) {
-        this.description = description;
-        this.updatedAt = LocalDateTime.now();
+        modify(() -> this.description = description);
+    }
+
+    /**
+     * Obtiene el tipo de contenido. Cada subclase devuelve su tipo concreto.
+     * @return tipo de contenido, o null para un contenido genérico
+     */
+
+    public ContentType getContentType() {
+        return null;
     }
 
     public User getAuthor() {
@@ -72,8 +174,7 @@ public class Content implements IPublishable, ISearchable, IReportable, IEditabl
     }
 
     public void setState(ContentState state) {
-        this.state = state;
-        this.updatedAt = LocalDateTime.now();
+        modify(() -> this.state = state);
     }
     /**
      * Publica el contenido si se encuentra en borrador.
@@ -82,9 +183,10 @@ public class Content implements IPublishable, ISearchable, IReportable, IEditabl
     @Override
     public void publish() {
         if (state == ContentState.DRAFT) {
-            this.state = ContentState.PUBLISHED;
-            this.publishedAt = LocalDateTime.now();
-            this.updatedAt = LocalDateTime.now();
+            modify(() -> {
+                this.state = ContentState.PUBLISHED;
+                this.publishedAt = LocalDateTime.now();
+            });
         }
     }
     /**
@@ -94,30 +196,60 @@ public class Content implements IPublishable, ISearchable, IReportable, IEditabl
     @Override
     public void unpublish() {
         if (state == ContentState.PUBLISHED) {
-            this.state = ContentState.DRAFT;
-            this.publishedAt = null;
-            this.updatedAt = LocalDateTime.now();
+            modify(() -> {
+                this.state = ContentState.DRAFT;
+                this.publishedAt = null;
+            });
         }
     }
+    /**
+     * Registra el objeto que será notificado de los cambios de categorías y etiquetas.
+     * Lo asigna el controlador que almacena el contenido para mantener sus índices inversos.
+     * Al asignarlo, las etiquetas del contenido se sustituyen por sus instancias canónicas.
+     * @param relationListener objeto a notificar, o null para dejar de notificar
+     */
+
+    public void setRelationListener(IContentRelationListener relationListener) {
+        if (relationListener != null) {
+            Set<Tag> canonical = new LinkedHashSet<>();
+            for (Tag tag : tags) {
+                canonical.add(relationListener.canonicalTag(tag));
+            }
+            tags = canonical;
+        }
+        this.relationListener = relationListener;
+    }
     /**
      * Agrega una categoría al contenido, si no está ya asociada.
+     * Si el contenido está almacenado, se hace bajo el bloqueo de su controlador.
      * @param category categoría a agregar
      */
 
     public void addCategory(Category category) {
-        if (!categories.contains(category)) {
-            categories.add(category);
-            updatedAt = LocalDateTime.now();
-        }
+        withListener(listener -> {
+            if (categories.add(category)) {
+                touch();
+                if (listener != null) {
+                    listener.onCategoryAdded(this, category);
+                }
+            }
+        });
     }
     /**
      * Elimina una categoría del contenido.
+     * Si el contenido está almacenado, se hace bajo el bloqueo de su controlador.
      * @param category categoría a eliminar
      */
 
     public void removeCategory(Category category) {
-        categories.remove(category);
-        updatedAt = LocalDateTime.now();
+        withListener(listener -> {
+            if (categories.remove(category)) {
+                touch();
+                if (listener != null) {
+                    listener.onCategoryRemoved(this, category);
+                }
+            }
+        });
     }
     /**
      * Devuelve las categorías asociadas al contenido.
@@ -129,23 +261,37 @@ public class Content implements IPublishable, ISearchable, IReportable, IEditabl
     }
     /**
      * Agrega una etiqueta (tag) al contenido.
+     * Si el contenido está almacenado, se hace bajo el bloqueo de su controlador.
      * @param tag etiqueta a agregar
      */
 
     public void addTag(Tag tag) {
-        if (!tags.contains(tag)) {
-            tags.add(tag);
-            updatedAt = LocalDateTime.now();
-        }
+        withListener(listener -> {
+            Tag added = listener != null ? listener.canonicalTag(tag) : tag;
+            if (tags.add(added)) {
+                touch();
+                if (listener != null) {
+                    listener.onTagAdded(this, added);
+                }
+            }
+        });
     }
     /**
      * Elimina una etiqueta del contenido.
+     * Si el contenido está almacenado, se hace bajo el bloqueo de su controlador.
      * @param tag etiqueta a eliminar
      */
 
     public void removeTag(Tag tag) {
-        tags.remove(tag);
-        updatedAt = LocalDateTime.now();
+        withListener(listener -> {
+            Tag removed = listener != null ? listener.canonicalTag(tag) : tag;
+            if (tags.remove(removed)) {
+                touch();
+                if (listener != null) {
+                    listener.onTagRemoved(this, removed);
+                }
+            }
+        });
     }
     /**
      * Devuelve las etiquetas asociadas al contenido.
@@ -223,7 +369,7 @@ public class Content implements IPublishable, ISearchable, IReportable, IEditabl
 
     @Override
     public boolean canEdit(User user) {
-        return user.getRole() == UserRole.ADMIN || user.getId().equals(author.getId());
+        return user.hasPermission(Permission.EDIT_ANY) || user.getId().equals(author.getId());
     }
     /**
      * Verifica si un usuario tiene permisos de eliminación sobre el contenido.
@@ -233,7 +379,7 @@ public class Content implements IPublishable, ISearchable, IReportable, IEditabl
 
     @Override
     public boolean canDelete(User user) {
-        return user.getRole() == UserRole.ADMIN;
+        return user.hasPermission(Permission.DELETE_ANY);
     }
     /**
      * Actualiza el título y descripción del contenido.
@@ -242,7 +388,9 @@ public class Content implements IPublishable, ISearchable, IReportable, IEditabl
      */
 
     public void update(String title, String description) {
-        setTitle(title);
-        setDescription(description);
+        modify(() -> {
+            this.title = title;
+            this.description = description;
+        });
     }
 }
@@ -0,0 +1,44 @@
+package model;
+
+import model.enums.ChangeType;
+
+/**
+ * Evento que describe un cambio en un contenido del catálogo.
+ */
+public class ContentChangeEvent {
+    private final ChangeType type;
+    private final Content content;
+
+    /**
+     * Construye un evento de cambio.
+     *
+     * @param type tipo de cambio
+     * @param content contenido afectado (para REMOVED, el contenido eliminado)
+     */
+    public ContentChangeEvent(ChangeType type, Content content) {
+        this.type = type;
+        this.content = content;
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public Content getContent() {
+        return content;
+    }
+
+    /**
+     * Obtiene el ID del contenido afectado.
+     *
+     * @return ID del contenido
+     */
+    public String getContentId() {
+        return content.getId();
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + content.getId();
+    }
+}
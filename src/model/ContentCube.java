@@ -0,0 +1,181 @@
+package model;
+
+import java.time.YearMonth;
+import java.util.*;
+import model.enums.CubeDimension;
+
+/**
+ * Cubo de agregación previa de contenidos por tipo, estado, autor, categoría y mes de creación.
+ * Cada celda guarda el número de contenidos con esa combinación de valores, de modo que
+ * cualquier consulta de conteo o agrupación se resuelve recorriendo celdas, sin acceder
+ * a los contenidos individuales.
+ *
+ * <p>Un contenido con varias categorías aporta una celda por categoría. Para no contarlo
+ * varias veces, el cubo mantiene por separado las celdas sin la dimensión de categoría,
+ * que se usan cuando la consulta no filtra ni agrupa por categoría.</p>
+ */
+public class ContentCube {
+    private static final int DIMENSIONS = CubeDimension.values().length;
+
+    /**
+     * Celdas que incluyen la dimensión de categoría.
+     */
+    private final Map<Cell, Long> categoryCells;
+    /**
+     * Celdas sin la dimensión de categoría (un contenido, una celda).
+     */
+    private final Map<Cell, Long> contentCells;
+
+    /**
+     * Construye un cubo vacío.
+     */
+    public ContentCube() {
+        this.categoryCells = new HashMap<>();
+        this.contentCells = new HashMap<>();
+    }
+
+    /**
+     * Agrega un contenido al cubo con sus valores de dimensión actuales.
+     *
+     * @param content contenido a agregar
+     */
+    public synchronized void add(Content content) {
+        apply(content, 1);
+    }
+
+    /**
+     * Retira un contenido del cubo. Debe llamarse antes de modificar
+     * cualquier valor de dimensión del contenido.
+     *
+     * @param content contenido a retirar
+     */
+    public synchronized void remove(Content content) {
+        apply(content, -1);
+    }
+
+    /**
+     * Cuenta los contenidos que cumplen los filtros indicados.
+     *
+     * @param filters valores requeridos por dimensión; las dimensiones ausentes no filtran
+     * @return número de contenidos que cumplen todos los filtros
+     */
+    public synchronized long count(Map<CubeDimension, Object> filters) {
+        long total = 0;
+        for (Map.Entry<Cell, Long> entry : cellsFor(filters, null).entrySet()) {
+            if (entry.getKey().matches(filters)) {
+                total += entry.getValue();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Agrupa los contenidos que cumplen los filtros por los valores de una dimensión.
+     *
+     * @param groupBy dimensión de agrupación
+     * @param filters valores requeridos por dimensión; las dimensiones ausentes no filtran
+     * @return conteo de contenidos por valor de la dimensión
+     */
+    public synchronized Map<Object, Long> rollUp(CubeDimension groupBy, Map<CubeDimension, Object> filters) {
+        Map<Object, Long> result = new LinkedHashMap<>();
+        for (Map.Entry<Cell, Long> entry : cellsFor(filters, groupBy).entrySet()) {
+            if (entry.getKey().matches(filters)) {
+                result.merge(entry.getKey().values[groupBy.ordinal()], entry.getValue(), Long::sum);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Elige el conjunto de celdas adecuado para una consulta.
+     */
+    private Map<Cell, Long> cellsFor(Map<CubeDimension, Object> filters, CubeDimension groupBy) {
+        boolean byCategory = groupBy == CubeDimension.CATEGORY || filters.containsKey(CubeDimension.CATEGORY);
+        return byCategory ? categoryCells : contentCells;
+    }
+
+    /**
+     * Actualiza las celdas de categoría tras agregar o quitar una categoría de un contenido
+     * ya incorporado al cubo. Las categorías del contenido deben reflejar ya el cambio.
+     *
+     * @param content contenido modificado
+     * @param categoryId ID de la categoría agregada o quitada
+     * @param added true si la categoría se agregó, false si se quitó
+     */
+    public synchronized void categoryChanged(Content content, String categoryId, boolean added) {
+        Object[] values = dimensionValues(content);
+        Object[] withCategory = values.clone();
+        withCategory[CubeDimension.CATEGORY.ordinal()] = categoryId;
+        adjust(categoryCells, new Cell(withCategory), added ? 1 : -1);
+
+        int remaining = content.getCategories().size();
+        if (added && remaining == 1) {
+            adjust(categoryCells, new Cell(values), -1);
+        } else if (!added && remaining == 0) {
+            adjust(categoryCells, new Cell(values), 1);
+        }
+    }
+
+    private static Object[] dimensionValues(Content content) {
+        Object[] values = new Object[DIMENSIONS];
+        values[CubeDimension.TYPE.ordinal()] = content.getContentType();
+        values[CubeDimension.STATE.ordinal()] = content.getState();
+        values[CubeDimension.AUTHOR.ordinal()] = content.getAuthor().getUsername();
+        values[CubeDimension.MONTH.ordinal()] = YearMonth.from(content.getCreatedAt());
+        return values;
+    }
+
+    private void apply(Content content, long delta) {
+        Object[] values = dimensionValues(content);
+        adjust(contentCells, new Cell(values.clone()), delta);
+
+        List<Category> categories = content.getCategories();
+        if (categories.isEmpty()) {
+            adjust(categoryCells, new Cell(values), delta);
+        }
+        for (Category category : categories) {
+            Object[] withCategory = values.clone();
+            withCategory[CubeDimension.CATEGORY.ordinal()] = category.getId();
+            adjust(categoryCells, new Cell(withCategory), delta);
+        }
+    }
+
+    private static void adjust(Map<Cell, Long> cells, Cell cell, long delta) {
+        Long updated = cells.merge(cell, delta, Long::sum);
+        if (updated != null && updated <= 0) {
+            cells.remove(cell);
+        }
+    }
+
+    /**
+     * Combinación de valores de dimensión, indexada por el ordinal de {@link CubeDimension}.
+     */
+    private static final class Cell {
+        private final Object[] values;
+        private final int hash;
+
+        private Cell(Object[] values) {
+            this.values = values;
+            this.hash = Arrays.hashCode(values);
+        }
+
+        private boolean matches(Map<CubeDimension, Object> filters) {
+            for (Map.Entry<CubeDimension, Object> filter : filters.entrySet()) {
+                if (!Objects.equals(values[filter.getKey().ordinal()], filter.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Cell && Arrays.equals(((Cell) obj).values, this.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package model;
+
+import java.util.*;
+
+/**
+ * Vista inmutable del catálogo de contenidos en una versión concreta.
+ * Contiene copias congeladas de los contenidos, de modo que los reportes largos
+ * pueden recorrerla sin bloquear a los escritores y siempre observan un estado consistente.
+ *
+ * <p>Las copias se crean al modificar cada contenido y se comparten entre instantáneas
+ * sucesivas mientras el contenido original no cambie de revisión, por lo que crear
+ * una nueva instantánea sólo copia referencias.</p>
+ */
+public class ContentSnapshot {
+    private final long version;
+    private final Map<String, Content> contentsById;
+    private final List<Content> contents;
+
+    /**
+     * Construye una instantánea a partir de copias ya congeladas.
+     *
+     * @param version versión del catálogo que representa
+     * @param contentsById copias de los contenidos indexadas por ID; la instantánea toma posesión del mapa
+     */
+    public ContentSnapshot(long version, Map<String, Content> contentsById) {
+        this.version = version;
+        this.contentsById = Collections.unmodifiableMap(contentsById);
+        this.contents = List.copyOf(contentsById.values());
+    }
+
+    /**
+     * Obtiene la versión del catálogo que representa la instantánea.
+     *
+     * @return versión del catálogo
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Obtiene los contenidos de la instantánea.
+     * Las copias no deben modificarse.
+     *
+     * @return lista inmutable de contenidos
+     */
+    public List<Content> getContents() {
+        return contents;
+    }
+
+    /**
+     * Obtiene la copia de un contenido por su ID.
+     *
+     * @param id identificador del contenido
+     * @return copia del contenido, o null si no existía en esta versión
+     */
+    public Content getContentById(String id) {
+        return contentsById.get(id);
+    }
+
+    /**
+     * Obtiene el número de contenidos de la instantánea.
+     *
+     * @return número de contenidos
+     */
+    public int size() {
+        return contents.size();
+    }
+}
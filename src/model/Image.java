@@ -1,5 +1,5 @@
 package model;
-import java.time.LocalDateTime;
+import model.enums.ContentType;
 /**
  * Representa un contenido de tipo imagen dentro del sistema.
  * Contiene metadatos como URL, dimensiones y tamaño de archivo.
@@ -7,6 +7,7 @@ import java.time.LocalDateTime;
 
 public class Image extends Content{
     private String imageUrl;
+    private String blobHash;
     private int width;
     private int height;
     private double fileSize;
@@ -25,6 +26,28 @@ public class Image extends Content{
         this.height = 0;
         this.fileSize = 0.0;
     }
+    /**
+     * Constructor de copia.
+     * @param other imagen a copiar
+     */
+
+    protected Image(Image other) {
+        super(other);
+        this.imageUrl = other.imageUrl;
+        this.blobHash = other.blobHash;
+        this.width = other.width;
+        this.height = other.height;
+        this.fileSize = other.fileSize;
+    }
+    /**
+     * Crea una copia independiente del contenido de imagen.
+     * @return copia con el mismo estado y revisión
+     */
+
+    @Override
+    public Image copy() {
+        return new Image(this);
+    }
     /**
      * Obtiene la URL de la imagen.
      * @return URL de la imagen
@@ -39,8 +62,23 @@ public class Image extends Content{
      */
 
     public void setImageUrl(String imageUrl) {
-        this.imageUrl = imageUrl;
-        this.updatedAt = LocalDateTime.now();
+        modify(() -> this.imageUrl = imageUrl);
+    }
+    /**
+     * Obtiene el hash del archivo de la imagen en el almacén de blobs.
+     * @return hash SHA-256 del archivo, o null si no está en el almacén
+     */
+
+    public String getBlobHash() {
+        return blobHash;
+    }
+    /**
+     * Asocia el contenido a un archivo del almacén de blobs y actualiza la fecha de modificación.
+     * @param blobHash hash SHA-256 del archivo, o null para desasociarlo
+     */
+
+    public void setBlobHash(String blobHash) {
+        modify(() -> this.blobHash = blobHash);
     }
     /**
      * Obtiene el ancho de la imagen.
@@ -74,10 +112,20 @@ public class Image extends Content{
      */
 
     public void setDimensions(int width, int height, double fileSize) {
-        this.width = width;
-        this.height = height;
-        this.fileSize = fileSize;
-        this.updatedAt = LocalDateTime.now();
+        modify(() -> {
+            this.width = width;
+            this.height = height;
+            this.fileSize = fileSize;
+        });
+    }
+    /**
+     * Obtiene el tipo de contenido.
+     * @return {@link ContentType#IMAGE}
+     */
+
+    @Override
+    public ContentType getContentType() {
+        return ContentType.IMAGE;
     }
     /**
      * Devuelve una representación textual con detalles de la imagen.
@@ -0,0 +1,87 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de una importación masiva.
+ * Cuenta las filas importadas y rechazadas y conserva el detalle de los primeros
+ * errores, de modo que la memoria usada no crece con el tamaño del archivo.
+ */
+public class ImportResult {
+    /**
+     * Número máximo de errores detallados que se conservan.
+     */
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long importedCount;
+    private long errorCount;
+    private final List<String> errors;
+
+    /**
+     * Construye un resultado vacío.
+     */
+    public ImportResult() {
+        this.errors = new ArrayList<>();
+    }
+
+    /**
+     * Registra filas importadas correctamente.
+     *
+     * @param count número de filas importadas
+     */
+    public void addImported(long count) {
+        importedCount += count;
+    }
+
+    /**
+     * Registra el error de una fila.
+     *
+     * @param line número de línea en el archivo (comenzando en 1)
+     * @param message descripción del error
+     */
+    public void addError(long line, String message) {
+        errorCount++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add("Línea " + line + ": " + message);
+        }
+    }
+
+    /**
+     * Obtiene el número de filas importadas.
+     *
+     * @return filas importadas
+     */
+    public long getImportedCount() {
+        return importedCount;
+    }
+
+    /**
+     * Obtiene el número total de filas rechazadas.
+     *
+     * @return filas con error
+     */
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Obtiene el detalle de los primeros errores registrados.
+     *
+     * @return lista de solo lectura con los errores detallados
+     */
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * Devuelve un resumen del resultado.
+     *
+     * @return cadena con filas importadas y con error
+     */
+    @Override
+    public String toString() {
+        return String.format("Importados: %d | Errores: %d", importedCount, errorCount);
+    }
+}
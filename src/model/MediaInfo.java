@@ -0,0 +1,110 @@
+package model;
+
+import java.nio.file.Path;
+
+/**
+ * Metadatos técnicos de un archivo multimedia leídos de su cabecera:
+ * dimensiones, duración (sólo videos) y tamaño del archivo.
+ */
+public class MediaInfo {
+    private final Path path;
+    private final String format;
+    private final int width;
+    private final int height;
+    private final long durationMillis;
+    private final long fileSizeBytes;
+
+    /**
+     * Construye los metadatos de un archivo.
+     *
+     * @param path archivo de origen
+     * @param format formato detectado ({@code png}, {@code jpeg}, {@code mp4}...)
+     * @param width ancho en píxeles (0 si no se conoce)
+     * @param height alto en píxeles (0 si no se conoce)
+     * @param durationMillis duración en milisegundos, o -1 si no es un video
+     * @param fileSizeBytes tamaño del archivo en bytes
+     */
+    public MediaInfo(Path path, String format, int width, int height, long durationMillis, long fileSizeBytes) {
+        this.path = path;
+        this.format = format;
+        this.width = width;
+        this.height = height;
+        this.durationMillis = durationMillis;
+        this.fileSizeBytes = fileSizeBytes;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Indica si el archivo es un video, es decir, si tiene duración.
+     *
+     * @return true para videos
+     */
+    public boolean isVideo() {
+        return durationMillis >= 0;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Obtiene la duración en minutos redondeada, como la guarda {@link Video}.
+     * Un video no vacío de menos de medio minuto cuenta como 1 minuto.
+     *
+     * @return duración en minutos, o 0 si no es un video
+     */
+    public int getDurationMinutes() {
+        if (durationMillis <= 0) {
+            return 0;
+        }
+        return (int) Math.max(1, Math.round(durationMillis / 60_000.0));
+    }
+
+    /**
+     * Obtiene la etiqueta de resolución a partir del alto: {@code 4K} desde 2160 líneas,
+     * y si no {@code <alto>p} ({@code 720p}, {@code 1080p}...).
+     *
+     * @return etiqueta de resolución, o cadena vacía si no se conocen las dimensiones
+     */
+    public String getResolutionLabel() {
+        int lines = Math.min(width, height) > 0 ? Math.min(width, height) : height;
+        if (lines <= 0) {
+            return "";
+        }
+        return lines >= 2160 ? "4K" : lines + "p";
+    }
+
+    public long getFileSizeBytes() {
+        return fileSizeBytes;
+    }
+
+    /**
+     * Obtiene el tamaño del archivo en MB, como lo guarda {@link Image}.
+     *
+     * @return tamaño en MB
+     */
+    public double getFileSizeMb() {
+        return fileSizeBytes / (1024.0 * 1024.0);
+    }
+
+    @Override
+    public String toString() {
+        String base = String.format("%s [%s] %dx%d, %.2f MB", path.getFileName(), format, width, height, getFileSizeMb());
+        return isVideo() ? base + String.format(", %.1f s", durationMillis / 1000.0) : base;
+    }
+}
@@ -1,6 +1,6 @@
 package model;
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
 /**
  * Representa un reporte generado dentro del sistema.
@@ -22,7 +22,7 @@ public class Report {
         this.id = id;
         this.type = type;
         this.generatedAt = LocalDateTime.now();
-        this.data = new HashMap<>();
+        this.data = Collections.emptyMap();
     }
     /**
      * Obtiene el ID del reporte.
@@ -50,19 +50,22 @@ public class Report {
     }
     /**
      * Devuelve los datos asociados al reporte.
-     * @return mapa con los datos del reporte
+     * La vista es de solo lectura, por lo que no se copia en cada acceso.
+     * @return mapa de solo lectura con los datos del reporte
      */
 
     public Map<String, Object> getData() {
-        return new HashMap<>(data);
+        return data;
     }
     /**
      * Establece o reemplaza los datos del reporte.
+     * El reporte conserva el mapa recibido detrás de una vista de solo lectura,
+     * por lo que quien lo construye no debe modificarlo después.
      * @param data mapa con los datos a almacenar
      */
 
     public void setData(Map<String, Object> data) {
-        this.data = new HashMap<>(data);
+        this.data = Collections.unmodifiableMap(data);
     }
     /**
      * Devuelve una representación legible del reporte.
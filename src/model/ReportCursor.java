@@ -0,0 +1,138 @@
+package model;
+
+import java.util.*;
+
+/**
+ * Cursor de solo lectura sobre las filas de texto de un reporte.
+ * Las filas se generan bajo demanda a partir de los datos del reporte: los valores de tipo
+ * lista aportan una fila por elemento sin copiarse, de modo que abrir el cursor cuesta
+ * O(número de claves) y leer una fila cuesta O(log número de claves).
+ */
+public class ReportCursor {
+    private final List<String> header;
+    private final List<String> footer;
+    private final List<Segment> segments;
+    private final int rowCount;
+
+    /**
+     * Construye un cursor sobre un reporte, con un encabezado de filas fijas.
+     *
+     * @param report reporte a recorrer
+     * @param header filas fijas que preceden a los datos
+     */
+    public ReportCursor(Report report, List<String> header) {
+        this(report, header, Collections.emptyList());
+    }
+
+    /**
+     * Construye un cursor sobre un reporte, con un encabezado y un pie de filas fijas.
+     *
+     * @param report reporte a recorrer
+     * @param header filas fijas que preceden a los datos
+     * @param footer filas fijas que siguen a los datos
+     */
+    public ReportCursor(Report report, List<String> header, List<String> footer) {
+        this.header = new ArrayList<>(header);
+        this.footer = new ArrayList<>(footer);
+        this.segments = new ArrayList<>();
+        int offset = this.header.size();
+        for (Map.Entry<String, Object> entry : report.getData().entrySet()) {
+            Segment segment = new Segment(offset, entry.getKey(), entry.getValue());
+            segments.add(segment);
+            offset += segment.size();
+        }
+        this.rowCount = offset + this.footer.size();
+    }
+
+    /**
+     * Obtiene el número total de filas del reporte.
+     *
+     * @return número de filas
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Obtiene el texto de una fila.
+     *
+     * @param index índice de la fila, entre 0 y {@link #getRowCount()} - 1
+     * @return texto de la fila
+     * @throws IndexOutOfBoundsException si el índice está fuera de rango
+     */
+    public String getRow(int index) {
+        Objects.checkIndex(index, rowCount);
+        if (index < header.size()) {
+            return header.get(index);
+        }
+        int footerStart = rowCount - footer.size();
+        if (index >= footerStart) {
+            return footer.get(index - footerStart);
+        }
+        int low = 0;
+        int high = segments.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (segments.get(mid).start <= index) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return segments.get(low).row(index - segments.get(low).start);
+    }
+
+    /**
+     * Obtiene una página de filas.
+     *
+     * @param page número de página, comenzando en 0
+     * @param pageSize número de filas por página
+     * @return filas de la página (vacía si la página está fuera de rango)
+     */
+    public List<String> getPage(int page, int pageSize) {
+        int from = Math.min(page * pageSize, rowCount);
+        int to = Math.min(from + pageSize, rowCount);
+        List<String> rows = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            rows.add(getRow(i));
+        }
+        return rows;
+    }
+
+    /**
+     * Calcula el número de páginas para un tamaño de página.
+     *
+     * @param pageSize número de filas por página
+     * @return número de páginas
+     */
+    public int getPageCount(int pageSize) {
+        return (rowCount + pageSize - 1) / pageSize;
+    }
+
+    /**
+     * Tramo de filas correspondiente a una clave del reporte.
+     * Una lista ocupa una fila de título más una fila por elemento; cualquier otro valor ocupa una fila.
+     */
+    private static final class Segment {
+        private final int start;
+        private final String key;
+        private final Object value;
+
+        private Segment(int start, String key, Object value) {
+            this.start = start;
+            this.key = key;
+            this.value = value;
+        }
+
+        private int size() {
+            return value instanceof List ? 1 + ((List<?>) value).size() : 1;
+        }
+
+        private String row(int offset) {
+            if (value instanceof List) {
+                return offset == 0 ? key + ": " : "  • " + ((List<?>) value).get(offset - 1);
+            }
+            return key + ": " + value;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package model;
+
+import java.util.*;
+import java.util.function.Function;
+import model.enums.AggregationType;
+
+/**
+ * Especificación declarativa de un reporte agrupado.
+ * Define la dimensión de agrupación y las agregaciones a calcular por grupo;
+ * ambas pueden tomarse de una clave de {@link Content#getReportData()} o de un accesor tipado.
+ * La especificación no contiene datos: se ejecuta con {@code ReportController#execute}.
+ */
+public class ReportSpec {
+    private final String title;
+    private final String groupByName;
+    private final Accessor groupBy;
+    private final List<Aggregation> aggregations;
+
+    /**
+     * Crea una especificación agrupada por una clave de los datos de reporte del contenido.
+     *
+     * @param title título del reporte
+     * @param groupByKey clave de {@link Content#getReportData()} (por ejemplo "author" o "type")
+     */
+    public ReportSpec(String title, String groupByKey) {
+        this(title, groupByKey, new Accessor(groupByKey, null));
+    }
+
+    /**
+     * Crea una especificación agrupada por un accesor tipado.
+     *
+     * @param title título del reporte
+     * @param groupByName nombre de la dimensión de agrupación
+     * @param groupBy función que obtiene el valor de agrupación de un contenido
+     */
+    public ReportSpec(String title, String groupByName, Function<Content, Object> groupBy) {
+        this(title, groupByName, new Accessor(null, groupBy));
+    }
+
+    private ReportSpec(String title, String groupByName, Accessor groupBy) {
+        this.title = title;
+        this.groupByName = groupByName;
+        this.groupBy = groupBy;
+        this.aggregations = new ArrayList<>();
+    }
+
+    /**
+     * Agrega un conteo de contenidos por grupo.
+     *
+     * @param name nombre de la columna resultante
+     * @return esta especificación, para encadenar llamadas
+     */
+    public ReportSpec count(String name) {
+        aggregations.add(new Aggregation(name, AggregationType.COUNT, new Accessor(null, c -> c)));
+        return this;
+    }
+
+    /**
+     * Agrega una agregación sobre una clave de los datos de reporte del contenido.
+     *
+     * @param name nombre de la columna resultante
+     * @param type función de agregación
+     * @param reportDataKey clave de {@link Content#getReportData()}
+     * @return esta especificación, para encadenar llamadas
+     */
+    public ReportSpec aggregate(String name, AggregationType type, String reportDataKey) {
+        aggregations.add(new Aggregation(name, type, new Accessor(reportDataKey, null)));
+        return this;
+    }
+
+    /**
+     * Agrega una agregación sobre un accesor tipado.
+     *
+     * @param name nombre de la columna resultante
+     * @param type función de agregación
+     * @param value función que obtiene el valor a agregar (null para omitir el contenido)
+     * @return esta especificación, para encadenar llamadas
+     */
+    public ReportSpec aggregate(String name, AggregationType type, Function<Content, Object> value) {
+        aggregations.add(new Aggregation(name, type, new Accessor(null, value)));
+        return this;
+    }
+
+    /**
+     * Obtiene el título del reporte.
+     *
+     * @return título del reporte
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Obtiene el nombre de la dimensión de agrupación.
+     *
+     * @return nombre de la dimensión
+     */
+    public String getGroupByName() {
+        return groupByName;
+    }
+
+    /**
+     * Obtiene el valor de agrupación de un contenido.
+     *
+     * @param content contenido evaluado
+     * @param reportData datos de reporte del contenido, o null si ninguna expresión los requiere
+     * @return valor de agrupación
+     */
+    public Object groupKey(Content content, Map<String, Object> reportData) {
+        return groupBy.apply(content, reportData);
+    }
+
+    /**
+     * Obtiene las agregaciones definidas, en orden.
+     *
+     * @return lista de solo lectura de agregaciones
+     */
+    public List<Aggregation> getAggregations() {
+        return Collections.unmodifiableList(aggregations);
+    }
+
+    /**
+     * Indica si alguna expresión de la especificación lee {@link Content#getReportData()},
+     * en cuyo caso el mapa se construye una sola vez por contenido.
+     *
+     * @return true si se requieren los datos de reporte
+     */
+    public boolean needsReportData() {
+        if (groupBy.key != null) {
+            return true;
+        }
+        for (Aggregation aggregation : aggregations) {
+            if (aggregation.value.key != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Agregación con nombre, función y expresión de valor.
+     */
+    public static final class Aggregation {
+        private final String name;
+        private final AggregationType type;
+        private final Accessor value;
+
+        private Aggregation(String name, AggregationType type, Accessor value) {
+            this.name = name;
+            this.type = type;
+            this.value = value;
+        }
+
+        /**
+         * Obtiene el nombre de la columna resultante.
+         *
+         * @return nombre de la agregación
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Obtiene la función de agregación.
+         *
+         * @return tipo de agregación
+         */
+        public AggregationType getType() {
+            return type;
+        }
+
+        /**
+         * Obtiene el valor a agregar de un contenido.
+         *
+         * @param content contenido evaluado
+         * @param reportData datos de reporte del contenido, o null si no se requieren
+         * @return valor a agregar
+         */
+        public Object valueOf(Content content, Map<String, Object> reportData) {
+            return value.apply(content, reportData);
+        }
+    }
+
+    /**
+     * Expresión que obtiene un valor de un contenido, ya sea por clave de datos de reporte
+     * o por accesor tipado.
+     */
+    private static final class Accessor {
+        private final String key;
+        private final Function<Content, Object> function;
+
+        private Accessor(String key, Function<Content, Object> function) {
+            this.key = key;
+            this.function = function;
+        }
+
+        private Object apply(Content content, Map<String, Object> reportData) {
+            return key != null ? reportData.get(key) : function.apply(content);
+        }
+    }
+}
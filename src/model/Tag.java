@@ -7,7 +7,7 @@ package model;
  */
 public class Tag {
     private final String id;
-    private String name;
+    private volatile String name;
 
     /**
      * Constructor de la clase Tag.
@@ -39,11 +39,12 @@ public class Tag {
     }
 
     /**
-     * Establece un nuevo nombre para la etiqueta.
+     * Establece un nuevo nombre para la etiqueta. Sólo lo usa {@link TagRegistry#rename},
+     * que mantiene el índice por nombre y el orden de la nube.
      *
      * @param name El nuevo nombre de la etiqueta
      */
-    public void setName(String name) {
+    void setName(String name) {
         this.name = name;
     }
 
@@ -68,4 +69,15 @@ public class Tag {
     public boolean equals(Object obj) {
         return obj instanceof Tag && ((Tag) obj).id.equals(this.id);
     }
+
+    /**
+     * Calcula el código hash de la etiqueta a partir de su ID,
+     * coherente con {@link #equals(Object)}.
+     *
+     * @return El código hash de la etiqueta
+     */
+    @Override
+    public int hashCode() {
+        return id.hashCode();
+    }
 }
@@ -0,0 +1,283 @@
+package model;
+
+import java.util.*;
+import util.IDGenerator;
+import util.OrdinalRegistry;
+
+/**
+ * Registro de etiquetas internadas por nombre normalizado.
+ * Cada nombre (sin distinguir mayúsculas, espacios sobrantes ni '#' inicial) corresponde a
+ * una única instancia de {@link Tag}, que comparten todos los contenidos. El registro lleva
+ * además el número de contenidos que usan cada etiqueta y las mantiene ordenadas por uso,
+ * de modo que la nube de etiquetas más usadas se obtiene sin recorrer los contenidos.
+ * Cada etiqueta registrada recibe también un ordinal entero denso.
+ */
+public class TagRegistry {
+    /**
+     * Orden de la nube: más usos primero y, a igualdad, por nombre.
+     */
+    private static final Comparator<Entry> BY_USAGE = Comparator
+            .comparingLong((Entry e) -> e.usage).reversed()
+            .thenComparing(e -> e.key)
+            .thenComparing(e -> e.tag.getId());
+
+    private final Map<String, Entry> byName;
+    private final Map<String, Entry> byId;
+    private final TreeSet<Entry> ranking;
+    private final OrdinalRegistry ordinals;
+    /**
+     * Acción que se ejecuta tras renombrar una etiqueta.
+     */
+    private final Runnable onRename;
+
+    /**
+     * Construye un registro vacío.
+     */
+    public TagRegistry() {
+        this(() -> { });
+    }
+
+    /**
+     * Construye un registro vacío que avisa de los renombrados, por ejemplo para invalidar
+     * los datos derivados que muestran nombres de etiquetas.
+     *
+     * @param onRename acción a ejecutar después de cada renombrado
+     */
+    public TagRegistry(Runnable onRename) {
+        this.byName = new HashMap<>();
+        this.byId = new HashMap<>();
+        this.ranking = new TreeSet<>(BY_USAGE);
+        this.ordinals = new OrdinalRegistry();
+        this.onRename = onRename;
+    }
+
+    /**
+     * Obtiene la etiqueta registrada con un nombre, creándola si no existe.
+     *
+     * @param name nombre de la etiqueta
+     * @return la instancia única de la etiqueta
+     * @throws IllegalArgumentException si el nombre está vacío
+     */
+    public synchronized Tag intern(String name) {
+        String key = normalize(name);
+        if (key.isEmpty()) {
+            throw new IllegalArgumentException("El nombre de la etiqueta no puede estar vacío");
+        }
+        Entry entry = byName.get(key);
+        if (entry == null) {
+            entry = new Entry(new Tag(IDGenerator.generate("tag"), name.trim()), key);
+            byName.put(key, entry);
+            byId.put(entry.tag.getId(), entry);
+            ranking.add(entry);
+            ordinals.acquire(entry.tag.getId());
+        }
+        return entry.tag;
+    }
+
+    /**
+     * Registra una etiqueta creada fuera del registro. Si ya hay una con el mismo
+     * nombre normalizado, se devuelve esa en su lugar.
+     *
+     * @param tag etiqueta a registrar
+     * @return la instancia única de la etiqueta
+     */
+    public synchronized Tag register(Tag tag) {
+        Entry entry = byId.get(tag.getId());
+        if (entry != null) {
+            return entry.tag;
+        }
+        String key = normalize(tag.getName());
+        entry = byName.get(key);
+        if (entry != null) {
+            return entry.tag;
+        }
+        entry = new Entry(tag, key);
+        byName.put(key, entry);
+        byId.put(tag.getId(), entry);
+        ranking.add(entry);
+        ordinals.acquire(tag.getId());
+        return tag;
+    }
+
+    /**
+     * Busca una etiqueta por su nombre, sin distinguir mayúsculas.
+     *
+     * @param name nombre de la etiqueta
+     * @return la etiqueta, o null si no está registrada
+     */
+    public synchronized Tag getByName(String name) {
+        Entry entry = name == null ? null : byName.get(normalize(name));
+        return entry == null ? null : entry.tag;
+    }
+
+    /**
+     * Busca una etiqueta por su ID.
+     *
+     * @param id ID de la etiqueta
+     * @return la etiqueta, o null si no está registrada
+     */
+    public synchronized Tag getById(String id) {
+        Entry entry = byId.get(id);
+        return entry == null ? null : entry.tag;
+    }
+
+    /**
+     * Cambia el nombre de una etiqueta registrada. Es la única forma de renombrar una
+     * etiqueta, de modo que el índice por nombre y el orden de la nube siguen vigentes.
+     *
+     * @param tag etiqueta a renombrar
+     * @param name nuevo nombre
+     * @throws IllegalArgumentException si la etiqueta no está registrada, el nombre está
+     *         vacío o ya lo usa otra etiqueta
+     */
+    public synchronized void rename(Tag tag, String name) {
+        Entry entry = byId.get(tag.getId());
+        if (entry == null) {
+            throw new IllegalArgumentException("Etiqueta no registrada: " + tag.getId());
+        }
+        String key = normalize(name);
+        if (key.isEmpty()) {
+            throw new IllegalArgumentException("El nombre de la etiqueta no puede estar vacío");
+        }
+        Entry other = byName.get(key);
+        if (other != null && other != entry) {
+            throw new IllegalArgumentException("Ya existe la etiqueta " + name);
+        }
+        ranking.remove(entry);
+        byName.remove(entry.key);
+        entry.key = key;
+        entry.tag.setName(name.trim());
+        byName.put(key, entry);
+        ranking.add(entry);
+        onRename.run();
+    }
+
+    /**
+     * Registra un uso más de una etiqueta.
+     *
+     * @param tag etiqueta usada
+     */
+    public synchronized void increment(Tag tag) {
+        adjust(register(tag), 1);
+    }
+
+    /**
+     * Registra un uso menos de una etiqueta.
+     *
+     * @param tag etiqueta que dejó de usarse
+     */
+    public synchronized void decrement(Tag tag) {
+        adjust(tag, -1);
+    }
+
+    /**
+     * Obtiene el número de contenidos que usan una etiqueta.
+     *
+     * @param tag etiqueta
+     * @return número de usos
+     */
+    public synchronized long getUsage(Tag tag) {
+        Entry entry = resolve(tag);
+        return entry == null ? 0 : entry.usage;
+    }
+
+    /**
+     * Obtiene las etiquetas más usadas con su número de usos, de mayor a menor.
+     * Las etiquetas sin usos no se incluyen.
+     *
+     * @param k número máximo de etiquetas
+     * @return mapa ordenado de etiqueta a número de usos
+     */
+    public synchronized Map<Tag, Long> top(int k) {
+        Map<Tag, Long> result = new LinkedHashMap<>();
+        for (Entry entry : ranking) {
+            if (result.size() >= k || entry.usage == 0) {
+                break;
+            }
+            result.put(entry.tag, entry.usage);
+        }
+        return result;
+    }
+
+    /**
+     * Obtiene el ordinal de una etiqueta registrada.
+     *
+     * @param tag etiqueta
+     * @return ordinal de la etiqueta, o -1 si no está registrada
+     */
+    public synchronized int ordinalOf(Tag tag) {
+        Entry entry = resolve(tag);
+        return entry == null ? -1 : ordinals.ordinalOf(entry.tag.getId());
+    }
+
+    /**
+     * Obtiene la etiqueta que tiene asignado un ordinal.
+     *
+     * @param ordinal ordinal de la etiqueta
+     * @return la etiqueta, o null si el ordinal no está asignado
+     */
+    public synchronized Tag getByOrdinal(int ordinal) {
+        String id = ordinals.idOf(ordinal);
+        return id == null ? null : byId.get(id).tag;
+    }
+
+    /**
+     * Obtiene el límite superior exclusivo de los ordinales de etiqueta.
+     *
+     * @return capacidad de ordinales
+     */
+    public synchronized int ordinalCapacity() {
+        return ordinals.capacity();
+    }
+
+    /**
+     * Obtiene el número de etiquetas registradas.
+     *
+     * @return número de etiquetas
+     */
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    /**
+     * Localiza la entrada de una etiqueta por su ID o, si es una instancia no internada,
+     * por su nombre normalizado.
+     */
+    private Entry resolve(Tag tag) {
+        Entry entry = byId.get(tag.getId());
+        return entry != null ? entry : byName.get(normalize(tag.getName()));
+    }
+
+    private void adjust(Tag tag, long delta) {
+        Entry entry = resolve(tag);
+        if (entry == null) {
+            return;
+        }
+        // El orden del TreeSet depende del uso: se retira antes de cambiarlo
+        ranking.remove(entry);
+        entry.usage = Math.max(0, entry.usage + delta);
+        ranking.add(entry);
+    }
+
+    private static String normalize(String name) {
+        String key = name == null ? "" : name.trim();
+        if (key.startsWith("#")) {
+            key = key.substring(1);
+        }
+        return key.replaceAll("\\s+", " ").trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Etiqueta registrada con su nombre normalizado y su número de usos.
+     */
+    private static final class Entry {
+        private final Tag tag;
+        private String key;
+        private long usage;
+
+        private Entry(Tag tag, String key) {
+            this.tag = tag;
+            this.key = key;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package model;
 
+import model.enums.Permission;
 import model.enums.UserRole;
 import java.time.LocalDateTime;
 
@@ -13,6 +14,8 @@ public class User {
     private String email;
     private UserRole role;
     private final LocalDateTime createdAt;
+    private long grantedPermissions;
+    private long revokedPermissions;
 
     /**
      * Constructor de la clase User.
@@ -89,18 +92,60 @@ public class User {
      * Verifica si el usuario tiene permiso para realizar una acción específica.
      * Los permisos varían según el rol del usuario:
      * - ADMIN: Tiene todos los permisos
-     * - EDITOR: Tiene todos los permisos excepto "delete_any" y "manage_users"
+     * - EDITOR: Tiene "view", "create", "edit_own" y "publish"; no tiene "edit_any",
+     *   "delete_any" ni "manage_users", por lo que sólo edita sus propios contenidos
      * - VISITOR: Solo tiene permiso "view"
+     * Las acciones no registradas en {@link Permission} se conceden a partir del rol EDITOR.
      *
      * @param action La acción a verificar
      * @return true si el usuario tiene permiso, false en caso contrario
      */
     public boolean hasPermission(String action) {
-        return switch (role) {
-            case ADMIN -> true;
-            case EDITOR -> !action.equals("delete_any") && !action.equals("manage_users");
-            case VISITOR -> action.equals("view");
-        };
+        Permission permission = Permission.fromAction(action);
+        if (permission == null) {
+            return getRole().getLevel() >= UserRole.EDITOR.getLevel();
+        }
+        return hasPermission(permission);
+    }
+
+    /**
+     * Verifica si el usuario tiene un permiso.
+     *
+     * @param permission El permiso a verificar
+     * @return true si el usuario tiene el permiso, false en caso contrario
+     */
+    public boolean hasPermission(Permission permission) {
+        return (getPermissionMask() & permission.getMask()) != 0;
+    }
+
+    /**
+     * Obtiene la máscara efectiva de permisos del usuario: los permisos de su rol
+     * más los concedidos individualmente, menos los revocados individualmente.
+     *
+     * @return La máscara de permisos efectiva
+     */
+    public long getPermissionMask() {
+        return (getRole().getPermissionMask() | grantedPermissions) & ~revokedPermissions;
+    }
+
+    /**
+     * Concede un permiso a este usuario además de los de su rol.
+     *
+     * @param permission El permiso a conceder
+     */
+    public void grantPermission(Permission permission) {
+        grantedPermissions |= permission.getMask();
+        revokedPermissions &= ~permission.getMask();
+    }
+
+    /**
+     * Revoca un permiso a este usuario aunque su rol lo conceda.
+     *
+     * @param permission El permiso a revocar
+     */
+    public void revokePermission(Permission permission) {
+        revokedPermissions |= permission.getMask();
+        grantedPermissions &= ~permission.getMask();
     }
 
     /**
@@ -0,0 +1,168 @@
+package model;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import util.OrdinalRegistry;
+
+/**
+ * Directorio de usuarios con índices concurrentes por ID y por nombre de usuario.
+ * El nombre de usuario se indexa sin distinguir mayúsculas de minúsculas, y tanto
+ * el ID como el nombre de usuario son únicos. Las búsquedas son O(1) y no bloquean;
+ * las altas y bajas se serializan para mantener ambos índices consistentes.
+ * Cada usuario registrado tiene además un ordinal entero denso, reutilizado tras su baja.
+ */
+public class UserDirectory {
+    private final Map<String, User> byId;
+    private final Map<String, User> byUsername;
+    private final OrdinalRegistry ordinals;
+
+    /**
+     * Construye un directorio vacío.
+     */
+    public UserDirectory() {
+        this.byId = new ConcurrentHashMap<>();
+        this.byUsername = new ConcurrentHashMap<>();
+        this.ordinals = new OrdinalRegistry();
+    }
+
+    /**
+     * Agrega un usuario al directorio.
+     *
+     * @param user usuario a agregar
+     * @throws IllegalArgumentException si ya existe un usuario con el mismo ID o nombre de usuario
+     */
+    public synchronized void add(User user) {
+        String conflict = findConflict(user);
+        if (conflict != null) {
+            throw new IllegalArgumentException(conflict);
+        }
+        byId.put(user.getId(), user);
+        byUsername.put(normalize(user.getUsername()), user);
+        ordinals.acquire(user.getId());
+    }
+
+    /**
+     * Agrega un lote de usuarios en una sola operación.
+     * Los usuarios que colisionan con uno existente (o con otro del mismo lote)
+     * se omiten y se devuelven al llamador.
+     *
+     * @param users usuarios a agregar
+     * @return usuarios rechazados por ID o nombre de usuario duplicado
+     */
+    public synchronized List<User> addAll(Collection<User> users) {
+        List<User> rejected = new ArrayList<>();
+        for (User user : users) {
+            if (findConflict(user) != null) {
+                rejected.add(user);
+            } else {
+                byId.put(user.getId(), user);
+                byUsername.put(normalize(user.getUsername()), user);
+                ordinals.acquire(user.getId());
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * Obtiene un usuario por su ID.
+     *
+     * @param id ID del usuario
+     * @return el usuario, o null si no existe
+     */
+    public User getById(String id) {
+        return id == null ? null : byId.get(id);
+    }
+
+    /**
+     * Obtiene un usuario por su nombre de usuario, sin distinguir mayúsculas de minúsculas.
+     *
+     * @param username nombre de usuario
+     * @return el usuario, o null si no existe
+     */
+    public User getByUsername(String username) {
+        return username == null ? null : byUsername.get(normalize(username));
+    }
+
+    /**
+     * Elimina un usuario por su ID.
+     *
+     * @param id ID del usuario
+     * @return el usuario eliminado, o null si no existía
+     */
+    public synchronized User remove(String id) {
+        User removed = byId.remove(id);
+        if (removed != null) {
+            byUsername.remove(normalize(removed.getUsername()), removed);
+            ordinals.release(id);
+        }
+        return removed;
+    }
+
+    /**
+     * Obtiene el ordinal de un usuario registrado.
+     *
+     * @param id ID del usuario
+     * @return ordinal del usuario, o -1 si no existe
+     */
+    public int ordinalOf(String id) {
+        return ordinals.ordinalOf(id);
+    }
+
+    /**
+     * Obtiene el usuario que tiene asignado un ordinal.
+     *
+     * @param ordinal ordinal del usuario
+     * @return el usuario, o null si el ordinal está libre
+     */
+    public User getByOrdinal(int ordinal) {
+        return getById(ordinals.idOf(ordinal));
+    }
+
+    /**
+     * Obtiene el límite superior exclusivo de los ordinales de usuario,
+     * útil para dimensionar arreglos indexados por ordinal.
+     *
+     * @return capacidad de ordinales
+     */
+    public int ordinalCapacity() {
+        return ordinals.capacity();
+    }
+
+    /**
+     * Obtiene el número de usuarios del directorio.
+     *
+     * @return número de usuarios
+     */
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Obtiene una copia de la lista de usuarios.
+     *
+     * @return lista de usuarios
+     */
+    public List<User> getAll() {
+        return new ArrayList<>(byId.values());
+    }
+
+    /**
+     * Describe el conflicto de un usuario con los ya registrados.
+     *
+     * @param user usuario a verificar
+     * @return descripción del conflicto, o null si no lo hay
+     */
+    private String findConflict(User user) {
+        if (byId.containsKey(user.getId())) {
+            return "Ya existe un usuario con ID " + user.getId();
+        }
+        if (byUsername.containsKey(normalize(user.getUsername()))) {
+            return "Ya existe el nombre de usuario " + user.getUsername();
+        }
+        return null;
+    }
+
+    private static String normalize(String username) {
+        return username.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,5 +1,5 @@
 package model;
-import java.time.LocalDateTime;
+import model.enums.ContentType;
 
 /**
  * Representa un contenido de tipo video dentro del sistema.
@@ -8,6 +8,7 @@ import java.time.LocalDateTime;
 
 public class Video extends Content {
     private String videoUrl;
+    private String blobHash;
     private int duration;
     private String resolution;
     /**
@@ -24,6 +25,27 @@ public class Video extends Content {
         this.duration = 0;
         this.resolution = "HD";
     }
+    /**
+     * Constructor de copia.
+     * @param other video a copiar
+     */
+
+    protected Video(Video other) {
+        super(other);
+        this.videoUrl = other.videoUrl;
+        this.blobHash = other.blobHash;
+        this.duration = other.duration;
+        this.resolution = other.resolution;
+    }
+    /**
+     * Crea una copia independiente del video.
+     * @return copia con el mismo estado y revisión
+     */
+
+    @Override
+    public Video copy() {
+        return new Video(this);
+    }
     /**
      * Obtiene la URL del video.
      * @return URL del video
@@ -38,8 +60,23 @@ public class Video extends Content {
      */
 
     public void setVideoUrl(String videoUrl) {
-        this.videoUrl = videoUrl;
-        this.updatedAt = LocalDateTime.now();
+        modify(() -> this.videoUrl = videoUrl);
+    }
+    /**
+     * Obtiene el hash del archivo del video en el almacén de blobs.
+     * @return hash SHA-256 del archivo, o null si no está en el almacén
+     */
+
+    public String getBlobHash() {
+        return blobHash;
+    }
+    /**
+     * Asocia el contenido a un archivo del almacén de blobs y actualiza la fecha de modificación.
+     * @param blobHash hash SHA-256 del archivo, o null para desasociarlo
+     */
+
+    public void setBlobHash(String blobHash) {
+        modify(() -> this.blobHash = blobHash);
     }
     /**
      * Obtiene la duración del video.
@@ -51,8 +88,7 @@ public class Video extends Content {
     }
 
     public void setDuration(int duration) {
-        this.duration = duration;
-        this.updatedAt = LocalDateTime.now();
+        modify(() -> this.duration = duration);
     }
     /**
      * Obtiene la resolución del video.
@@ -68,8 +104,16 @@ public class Video extends Content {
      */
 
     public void setResolution(String resolution) {
-        this.resolution = resolution;
-        this.updatedAt = LocalDateTime.now();
+        modify(() -> this.resolution = resolution);
+    }
+    /**
+     * Obtiene el tipo de contenido.
+     * @return {@link ContentType#VIDEO}
+     */
+
+    @Override
+    public ContentType getContentType() {
+        return ContentType.VIDEO;
     }
     /**
      * Devuelve una representación textual del video.
@@ -0,0 +1,56 @@
+package model.enums;
+
+/**
+ * Enumeración de las funciones de agregación disponibles en los reportes declarativos.
+ */
+public enum AggregationType {
+    /**
+     * Número de contenidos del grupo.
+     */
+    COUNT("Conteo"),
+
+    /**
+     * Suma de un valor numérico.
+     */
+    SUM("Suma"),
+
+    /**
+     * Mínimo de un valor numérico.
+     */
+    MIN("Mínimo"),
+
+    /**
+     * Máximo de un valor numérico.
+     */
+    MAX("Máximo"),
+
+    /**
+     * Promedio de un valor numérico.
+     */
+    AVG("Promedio"),
+
+    /**
+     * Número de valores distintos.
+     */
+    DISTINCT("Distintos");
+
+    private final String displayName;
+
+    /**
+     * Constructor del enum AggregationType.
+     *
+     * @param displayName Nombre descriptivo de la agregación
+     */
+    AggregationType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Obtiene el nombre descriptivo de la agregación.
+     *
+     * @return El nombre descriptivo de la agregación
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+}
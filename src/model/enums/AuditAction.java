@@ -0,0 +1,65 @@
+package model.enums;
+
+/**
+ * Enumeración de las acciones sobre contenidos que se registran en el log de auditoría.
+ * El ordinal de cada acción es su código en el formato binario del log, por lo que
+ * las nuevas acciones deben agregarse al final.
+ */
+public enum AuditAction {
+    /**
+     * Creación de un contenido.
+     */
+    CREATE("Creación"),
+
+    /**
+     * Modificación del título o la descripción de un contenido.
+     */
+    UPDATE("Modificación"),
+
+    /**
+     * Publicación de un contenido.
+     */
+    PUBLISH("Publicación"),
+
+    /**
+     * Retiro de la publicación de un contenido.
+     */
+    UNPUBLISH("Despublicación"),
+
+    /**
+     * Eliminación de un contenido.
+     */
+    DELETE("Eliminación");
+
+    private static final AuditAction[] VALUES = values();
+
+    private final String displayName;
+
+    /**
+     * Constructor del enum AuditAction.
+     *
+     * @param displayName Nombre descriptivo de la acción
+     */
+    AuditAction(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Obtiene el nombre descriptivo de la acción.
+     *
+     * @return El nombre descriptivo de la acción
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Obtiene la acción correspondiente a un código del log binario.
+     *
+     * @param code código de la acción
+     * @return la acción, o null si el código no es válido
+     */
+    public static AuditAction fromCode(int code) {
+        return code >= 0 && code < VALUES.length ? VALUES[code] : null;
+    }
+}
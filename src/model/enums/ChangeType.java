@@ -0,0 +1,21 @@
+package model.enums;
+
+/**
+ * Enumeración de los tipos de cambio que puede sufrir un contenido del catálogo.
+ */
+public enum ChangeType {
+    /**
+     * El contenido se agregó al catálogo.
+     */
+    ADDED,
+
+    /**
+     * El contenido cambió (título, estado, categorías, etiquetas) o se reemplazó por otro con el mismo ID.
+     */
+    UPDATED,
+
+    /**
+     * El contenido se eliminó del catálogo.
+     */
+    REMOVED
+}
@@ -0,0 +1,52 @@
+package model.enums;
+
+/**
+ * Enumeración de las métricas numéricas de contenido cuya distribución
+ * se mantiene para los reportes de capacidad.
+ */
+public enum ContentMetric {
+    /**
+     * Duración de los videos, en minutos.
+     */
+    VIDEO_DURATION("Duración de video (min)"),
+
+    /**
+     * Tamaño de archivo de las imágenes, en MB.
+     */
+    IMAGE_FILE_SIZE("Tamaño de imagen (MB)"),
+
+    /**
+     * Ancho de las imágenes, en píxeles.
+     */
+    IMAGE_WIDTH("Ancho de imagen (px)"),
+
+    /**
+     * Alto de las imágenes, en píxeles.
+     */
+    IMAGE_HEIGHT("Alto de imagen (px)"),
+
+    /**
+     * Número de palabras de los artículos.
+     */
+    ARTICLE_WORD_COUNT("Palabras por artículo");
+
+    private final String displayName;
+
+    /**
+     * Constructor del enum ContentMetric.
+     *
+     * @param displayName Nombre descriptivo de la métrica
+     */
+    ContentMetric(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Obtiene el nombre descriptivo de la métrica.
+     *
+     * @return El nombre descriptivo de la métrica
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+}
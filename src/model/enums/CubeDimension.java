@@ -0,0 +1,52 @@
+package model.enums;
+
+/**
+ * Enumeración de las dimensiones por las que se agregan los contenidos
+ * en el cubo de reportes.
+ */
+public enum CubeDimension {
+    /**
+     * Tipo de contenido ({@link ContentType}).
+     */
+    TYPE("Tipo"),
+
+    /**
+     * Estado de publicación ({@link ContentState}).
+     */
+    STATE("Estado"),
+
+    /**
+     * Nombre de usuario del autor.
+     */
+    AUTHOR("Autor"),
+
+    /**
+     * Identificador de la categoría (null para contenido sin categoría).
+     */
+    CATEGORY("Categoría"),
+
+    /**
+     * Mes de creación ({@link java.time.YearMonth}).
+     */
+    MONTH("Mes");
+
+    private final String displayName;
+
+    /**
+     * Constructor del enum CubeDimension.
+     *
+     * @param displayName Nombre descriptivo de la dimensión
+     */
+    CubeDimension(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Obtiene el nombre descriptivo de la dimensión.
+     *
+     * @return El nombre descriptivo de la dimensión
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -0,0 +1,109 @@
+package model.enums;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Enumeración de los permisos del sistema.
+ * Cada permiso ocupa un bit, de modo que el conjunto de permisos de un rol o usuario
+ * se representa como una máscara y su verificación es una operación a nivel de bits.
+ */
+public enum Permission {
+    /**
+     * Ver contenidos.
+     */
+    VIEW("view"),
+
+    /**
+     * Crear contenidos.
+     */
+    CREATE("create"),
+
+    /**
+     * Editar contenidos propios.
+     */
+    EDIT_OWN("edit_own"),
+
+    /**
+     * Editar contenidos de cualquier autor.
+     */
+    EDIT_ANY("edit_any"),
+
+    /**
+     * Publicar y despublicar contenidos.
+     */
+    PUBLISH("publish"),
+
+    /**
+     * Eliminar contenidos de cualquier autor.
+     */
+    DELETE_ANY("delete_any"),
+
+    /**
+     * Administrar usuarios.
+     */
+    MANAGE_USERS("manage_users");
+
+    private static final Map<String, Permission> BY_ACTION = new HashMap<>();
+
+    static {
+        for (Permission permission : values()) {
+            BY_ACTION.put(permission.action, permission);
+        }
+    }
+
+    private final String action;
+    private final long mask;
+
+    /**
+     * Constructor del enum Permission.
+     *
+     * @param action Nombre de la acción asociada al permiso
+     */
+    Permission(String action) {
+        this.action = action;
+        this.mask = 1L << ordinal();
+    }
+
+    /**
+     * Obtiene el nombre de la acción asociada al permiso.
+     *
+     * @return El nombre de la acción
+     */
+    public String getAction() {
+        return action;
+    }
+
+    /**
+     * Obtiene el bit que representa al permiso.
+     *
+     * @return La máscara del permiso
+     */
+    public long getMask() {
+        return mask;
+    }
+
+    /**
+     * Busca el permiso asociado a un nombre de acción.
+     *
+     * @param action Nombre de la acción
+     * @return El permiso correspondiente, o null si la acción no está registrada
+     */
+    public static Permission fromAction(String action) {
+        return BY_ACTION.get(action);
+    }
+
+    /**
+     * Combina varios permisos en una máscara.
+     *
+     * @param permissions Permisos a combinar
+     * @return La máscara con los bits de todos los permisos
+     */
+    public static long maskOf(Permission... permissions) {
+        long mask = 0;
+        for (Permission permission : permissions) {
+            mask |= permission.mask;
+        }
+        return mask;
+    }
+}
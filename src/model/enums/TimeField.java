@@ -0,0 +1,42 @@
+package model.enums;
+
+/**
+ * Enumeración de las fechas de un contenido por las que se pueden consultar
+ * los contenidos más recientes.
+ */
+public enum TimeField {
+    /**
+     * Fecha de creación.
+     */
+    CREATED("Creación"),
+
+    /**
+     * Fecha de la última modificación.
+     */
+    UPDATED("Modificación"),
+
+    /**
+     * Fecha de publicación (sólo contenidos publicados).
+     */
+    PUBLISHED("Publicación");
+
+    private final String displayName;
+
+    /**
+     * Constructor del enum TimeField.
+     *
+     * @param displayName Nombre descriptivo de la fecha
+     */
+    TimeField(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Obtiene el nombre descriptivo de la fecha.
+     *
+     * @return El nombre descriptivo de la fecha
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -9,32 +9,35 @@ public enum UserRole {
      * Rol de administrador con todos los permisos del sistema.
      * Nivel de permisos: 3 (máximo).
      */
-    ADMIN("Administrador", 3),
+    ADMIN("Administrador", 3, Permission.maskOf(Permission.values())),
 
     /**
-     * Rol de editor con permisos para crear y editar contenido.
+     * Rol de editor con permisos para crear contenido y editar el propio.
      * Nivel de permisos: 2 (intermedio).
      */
-    EDITOR("Editor", 2),
+    EDITOR("Editor", 2, Permission.maskOf(Permission.VIEW, Permission.CREATE, Permission.EDIT_OWN, Permission.PUBLISH)),
 
     /**
      * Rol de visitante con permisos solo de visualización.
      * Nivel de permisos: 1 (mínimo).
      */
-    VISITOR("Visitante", 1);
+    VISITOR("Visitante", 1, Permission.maskOf(Permission.VIEW));
 
     private final String displayName;
     private final int level;
+    private final long permissionMask;
 
     /**
      * Constructor del enum UserRole.
      *
      * @param displayName Nombre descriptivo del rol para mostrar al usuario
      * @param level Nivel numérico de permisos (1-3), donde 3 es el nivel más alto
+     * @param permissionMask Máscara de los permisos {@link Permission} del rol
      */
-    UserRole(String displayName, int level) {
+    UserRole(String displayName, int level, long permissionMask) {
         this.displayName = displayName;
         this.level = level;
+        this.permissionMask = permissionMask;
     }
 
     /**
@@ -54,4 +57,13 @@ public enum UserRole {
     public int getLevel() {
         return level;
     }
+
+    /**
+     * Obtiene la máscara de permisos del rol.
+     *
+     * @return La máscara con un bit por cada {@link Permission} concedido
+     */
+    public long getPermissionMask() {
+        return permissionMask;
+    }
 }
@@ -0,0 +1,18 @@
+package model.interfaces;
+
+import model.ContentChangeEvent;
+
+/**
+ * Interfaz que define el contrato para ser notificado de las altas, modificaciones
+ * y bajas de contenidos del catálogo.
+ * Las notificaciones se emiten en el hilo que realizó el cambio, mientras el catálogo
+ * está bloqueado, por lo que las implementaciones deben limitarse a registrar el evento.
+ */
+public interface IContentChangeListener {
+    /**
+     * Se invoca después de agregar, modificar o eliminar un contenido.
+     *
+     * @param event El evento que describe el cambio
+     */
+    void onContentChanged(ContentChangeEvent event);
+}
@@ -0,0 +1,72 @@
+package model.interfaces;
+
+import model.Category;
+import model.Content;
+import model.Tag;
+
+/**
+ * Interfaz que define el contrato para ser notificado de los cambios en las
+ * categorías y etiquetas asociadas a un contenido y en el resto de sus campos.
+ * Permite mantener índices inversos categoría/etiqueta → contenidos y otros datos
+ * derivados sin recorrer el catálogo.
+ */
+public interface IContentRelationListener {
+    /**
+     * Obtiene el objeto de bloqueo bajo el que el contenido aplica sus modificaciones
+     * y se invocan las notificaciones, el mismo que protege los datos derivados.
+     *
+     * @return objeto de bloqueo
+     */
+    Object getMutex();
+
+    /**
+     * Obtiene la instancia canónica de una etiqueta, la que usan los índices y los
+     * conteos. El contenido guarda esa instancia en lugar de la recibida, de modo que
+     * dos etiquetas con el mismo nombre normalizado cuentan como una sola.
+     *
+     * @param tag Etiqueta recibida por el contenido
+     * @return La etiqueta canónica con el mismo nombre
+     */
+    Tag canonicalTag(Tag tag);
+
+    /**
+     * Se invoca después de modificar campos del contenido distintos de sus categorías
+     * y etiquetas (título, estado, duración, dimensiones...).
+     *
+     * @param before Copia del contenido antes de la modificación
+     * @param content El contenido modificado
+     */
+    void onFieldsChanged(Content before, Content content);
+
+    /**
+     * Se invoca después de asociar una categoría a un contenido.
+     *
+     * @param content El contenido modificado
+     * @param category La categoría agregada
+     */
+    void onCategoryAdded(Content content, Category category);
+
+    /**
+     * Se invoca después de quitar una categoría de un contenido.
+     *
+     * @param content El contenido modificado
+     * @param category La categoría eliminada
+     */
+    void onCategoryRemoved(Content content, Category category);
+
+    /**
+     * Se invoca después de asociar una etiqueta a un contenido.
+     *
+     * @param content El contenido modificado
+     * @param tag La etiqueta agregada
+     */
+    void onTagAdded(Content content, Tag tag);
+
+    /**
+     * Se invoca después de quitar una etiqueta de un contenido.
+     *
+     * @param content El contenido modificado
+     * @param tag La etiqueta eliminada
+     */
+    void onTagRemoved(Content content, Tag tag);
+}
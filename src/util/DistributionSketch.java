@@ -0,0 +1,256 @@
+package util;
+
+/**
+ * Resumen incremental y fusionable de una distribución de valores numéricos.
+ * Agrupa los valores en cubetas logarítmicas con un error relativo máximo de ~1%,
+ * de modo que los percentiles se leen recorriendo un arreglo de tamaño fijo
+ * (independiente del número de valores registrados).
+ * Mantiene además el conteo, la suma, el mínimo y el máximo.
+ *
+ * <p>Dos resúmenes pueden fusionarse con {@link #merge(DistributionSketch)},
+ * lo que permite combinar distribuciones calculadas en distintas particiones.</p>
+ *
+ * @author Carlos
+ * @version 1.0
+ */
+public class DistributionSketch {
+    /**
+     * Error relativo máximo de los percentiles estimados.
+     */
+    private static final double RELATIVE_ACCURACY = 0.01;
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    /**
+     * Rango de valores representables: [1e-3, 1e9]. Los valores fuera de rango
+     * se acumulan en la cubeta extrema más cercana.
+     */
+    private static final int MIN_INDEX = (int) Math.ceil(Math.log(1e-3) / LOG_GAMMA);
+    private static final int MAX_INDEX = (int) Math.ceil(Math.log(1e9) / LOG_GAMMA);
+
+    private final long[] buckets;
+    private long zeroCount;
+    private long count;
+    private double sum;
+    private double min;
+    private double max;
+
+    /**
+     * Construye un resumen vacío.
+     */
+    public DistributionSketch() {
+        this.buckets = new long[MAX_INDEX - MIN_INDEX + 1];
+        this.min = Double.NaN;
+        this.max = Double.NaN;
+    }
+
+    /**
+     * Registra un valor en la distribución.
+     *
+     * @param value valor a registrar (los valores menores o iguales a cero se cuentan en la cubeta cero)
+     */
+    public synchronized void add(double value) {
+        if (value <= 0) {
+            zeroCount++;
+        } else {
+            buckets[bucketOf(value)]++;
+        }
+        count++;
+        sum += value;
+        min = count == 1 || value < min ? value : min;
+        max = count == 1 || value > max ? value : max;
+    }
+
+    /**
+     * Elimina un valor previamente registrado.
+     * Si el valor eliminado era el mínimo o el máximo, éstos pasan a estimarse
+     * a partir de las cubetas no vacías.
+     *
+     * @param value valor a eliminar
+     */
+    public synchronized void remove(double value) {
+        if (count == 0) {
+            return;
+        }
+        if (value <= 0) {
+            if (zeroCount == 0) {
+                return;
+            }
+            zeroCount--;
+        } else {
+            int bucket = bucketOf(value);
+            if (buckets[bucket] == 0) {
+                return;
+            }
+            buckets[bucket]--;
+        }
+        count--;
+        sum -= value;
+        if (count == 0) {
+            sum = 0;
+            min = Double.NaN;
+            max = Double.NaN;
+        } else {
+            if (value <= min) {
+                min = lowestValue();
+            }
+            if (value >= max) {
+                max = highestValue();
+            }
+        }
+    }
+
+    /**
+     * Fusiona otro resumen dentro de éste.
+     *
+     * @param other resumen a incorporar
+     * @return este mismo resumen, para encadenar llamadas
+     */
+    public DistributionSketch merge(DistributionSketch other) {
+        if (other == this) {
+            throw new IllegalArgumentException("No se puede fusionar un resumen consigo mismo");
+        }
+        DistributionSketch copy;
+        synchronized (other) {
+            copy = new DistributionSketch();
+            System.arraycopy(other.buckets, 0, copy.buckets, 0, other.buckets.length);
+            copy.zeroCount = other.zeroCount;
+            copy.count = other.count;
+            copy.sum = other.sum;
+            copy.min = other.min;
+            copy.max = other.max;
+        }
+        synchronized (this) {
+            if (copy.count == 0) {
+                return this;
+            }
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] += copy.buckets[i];
+            }
+            zeroCount += copy.zeroCount;
+            min = count == 0 ? copy.min : Math.min(min, copy.min);
+            max = count == 0 ? copy.max : Math.max(max, copy.max);
+            count += copy.count;
+            sum += copy.sum;
+        }
+        return this;
+    }
+
+    /**
+     * Estima el valor correspondiente a un cuantil.
+     *
+     * @param quantile cuantil entre 0 y 1 (por ejemplo 0.9 para p90)
+     * @return valor estimado, o NaN si la distribución está vacía
+     */
+    public synchronized double getQuantile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("El cuantil debe estar entre 0 y 1: " + quantile);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) Math.floor(quantile * (count - 1));
+        long seen = zeroCount;
+        if (rank < seen) {
+            return Math.max(min, 0);
+        }
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (rank < seen) {
+                return Math.max(min, Math.min(max, valueOf(i)));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Obtiene el número de valores registrados.
+     *
+     * @return número de valores
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Obtiene la suma de los valores registrados.
+     *
+     * @return suma de los valores
+     */
+    public synchronized double getSum() {
+        return sum;
+    }
+
+    /**
+     * Obtiene el valor mínimo registrado.
+     *
+     * @return mínimo, o NaN si la distribución está vacía
+     */
+    public synchronized double getMin() {
+        return min;
+    }
+
+    /**
+     * Obtiene el valor máximo registrado.
+     *
+     * @return máximo, o NaN si la distribución está vacía
+     */
+    public synchronized double getMax() {
+        return max;
+    }
+
+    /**
+     * Calcula el índice de cubeta de un valor positivo.
+     *
+     * @param value valor positivo
+     * @return índice dentro del arreglo de cubetas
+     */
+    private static int bucketOf(double value) {
+        int index = (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+        return Math.max(MIN_INDEX, Math.min(MAX_INDEX, index)) - MIN_INDEX;
+    }
+
+    /**
+     * Devuelve el valor representativo de una cubeta (punto medio relativo).
+     *
+     * @param bucket índice dentro del arreglo de cubetas
+     * @return valor representativo
+     */
+    private static double valueOf(int bucket) {
+        return 2 * Math.pow(GAMMA, bucket + MIN_INDEX) / (GAMMA + 1);
+    }
+
+    private double lowestValue() {
+        if (zeroCount > 0) {
+            return 0;
+        }
+        for (int i = 0; i < buckets.length; i++) {
+            if (buckets[i] > 0) {
+                return valueOf(i);
+            }
+        }
+        return Double.NaN;
+    }
+
+    private double highestValue() {
+        for (int i = buckets.length - 1; i >= 0; i--) {
+            if (buckets[i] > 0) {
+                return valueOf(i);
+            }
+        }
+        return zeroCount > 0 ? 0 : Double.NaN;
+    }
+
+    /**
+     * Devuelve una representación resumida de la distribución.
+     *
+     * @return cadena con conteo, mínimo, percentiles, máximo y suma
+     */
+    @Override
+    public synchronized String toString() {
+        if (count == 0) {
+            return "n=0";
+        }
+        return String.format("n=%d | min=%.2f | p50=%.2f | p90=%.2f | p99=%.2f | max=%.2f | suma=%.2f",
+                count, min, getQuantile(0.5), getQuantile(0.9), getQuantile(0.99), max, sum);
+    }
+}
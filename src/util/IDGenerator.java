@@ -1,38 +1,273 @@
 package util;
 
-import java.util.UUID;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
 
 /**
  * Utilidad para la generación de identificadores únicos.
  * Proporciona métodos para generar IDs con prefijos personalizados
- * o IDs simples utilizando UUID (Identificador Único Universal).
- * 
+ * o IDs simples sin prefijo.
+ *
+ * <p>Los IDs son ordenables por tiempo (al estilo ULID/Snowflake): 20 caracteres en
+ * base32 de Crockford, con 48 bits de milisegundos desde la época Unix seguidos de
+ * 10 bits de nodo, 12 bits de carril y 26 bits de secuencia. El nodo se toma de la
+ * propiedad de sistema {@code cms.node.id} (0-1023); cada hilo genera en su propio
+ * carril, por lo que no hay contención entre hilos. Dentro de un mismo carril los IDs
+ * son estrictamente crecientes, incluso si el reloj retrocede.</p>
+ *
+ * <p>Los carriles de los hilos que terminan se reutilizan conservando su último
+ * milisegundo y secuencia, así que el nuevo dueño sigue generando IDs mayores que los
+ * del anterior. Solo si todos los carriles privados pertenecen a hilos vivos, los hilos
+ * nuevos se reparten entre {@value #SHARED_LANES} carriles compartidos sincronizados.</p>
+ *
+ * <p>Como el tiempo ocupa los primeros caracteres con ancho fijo, el orden lexicográfico
+ * de los IDs con el mismo prefijo coincide con su orden de creación, lo que permite
+ * consultar rangos de creación directamente sobre un mapa ordenado por ID.</p>
+ *
  * @author Carlos
- * @version 1.0
+ * @version 2.0
  */
 public class IDGenerator {
-    
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int TIME_CHARS = 10;
+    private static final int ID_CHARS = 20;
+    private static final int NODE_BITS = 10;
+    private static final int LANE_BITS = 12;
+    private static final int SEQUENCE_BITS = 26;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int LANES = 1 << LANE_BITS;
+    private static final int SHARED_LANES = 64;
+    private static final int PRIVATE_LANES = LANES - SHARED_LANES;
+    private static final long NODE = nodeId();
+    /**
+     * Carril de cada hilo. Se asigna con {@link #assignLane()} la primera vez que el hilo
+     * genera un ID.
+     */
+    private static final ThreadLocal<Lane> LANE = ThreadLocal.withInitial(IDGenerator::assignLane);
+    /** Carriles privados creados hasta ahora, indexados por número de carril. */
+    private static final Lane[] privateLanes = new Lane[PRIVATE_LANES];
+    /** Carriles privados cuyo hilo terminó, listos para reutilizarse. */
+    private static final ArrayDeque<Lane> freeLanes = new ArrayDeque<>();
+    private static final Lane[] sharedLanes = createSharedLanes();
+    private static int createdLanes;
+
     /**
      * Genera un identificador único con un prefijo personalizado.
-     * Combina el prefijo proporcionado con los primeros 8 caracteres
-     * de un UUID generado aleatoriamente.
-     * 
+     *
      * @param prefix Prefijo personalizado para el identificador
-     * @return String con el formato {@code prefix_xxxxxxxx}
+     * @return String con el formato {@code prefix_xxxxxxxxxxxxxxxxxxxx}
      * @throws NullPointerException si el prefijo es null
      */
     public static String generate(String prefix) {
-        return prefix + "_" + UUID.randomUUID().toString().substring(0, 8);
+        int offset = prefix.length() + 1;
+        char[] chars = new char[offset + ID_CHARS];
+        prefix.getChars(0, prefix.length(), chars, 0);
+        chars[prefix.length()] = '_';
+        next(chars, offset);
+        return new String(chars);
     }
 
     /**
      * Genera un identificador único simple sin prefijo.
-     * Retorna los primeros 8 caracteres de un UUID generado aleatoriamente.
-     * 
-     * 
-     * @return String de 8 caracteres hexadecimales que representan un identificador único
+     *
+     * <p>Desde la versión 2.0 devuelve 20 caracteres en base32 de Crockford en lugar de
+     * los 8 caracteres hexadecimales de un UUID; el formato coincide con la parte que sigue
+     * al prefijo en {@link #generate(String)}.</p>
+     *
+     * @return String de 20 caracteres en base32 de Crockford, ordenable por tiempo de creación
      */
     public static String generateSimple() {
-        return UUID.randomUUID().toString().substring(0, 8);
+        char[] chars = new char[ID_CHARS];
+        next(chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * Obtiene el instante de creación codificado en un ID generado por esta clase.
+     *
+     * @param id identificador, con o sin prefijo
+     * @return milisegundos desde la época Unix
+     * @throws IllegalArgumentException si el ID no tiene el formato esperado
+     */
+    public static long timestampOf(String id) {
+        int start = id.length() - ID_CHARS;
+        if (start < 0 || (start > 0 && id.charAt(start - 1) != '_')) {
+            throw new IllegalArgumentException("ID sin formato ordenable por tiempo: " + id);
+        }
+        long millis = 0;
+        for (int i = start; i < start + TIME_CHARS; i++) {
+            int digit = decode(id.charAt(i));
+            if (digit < 0) {
+                throw new IllegalArgumentException("ID sin formato ordenable por tiempo: " + id);
+            }
+            millis = (millis << 5) | digit;
+        }
+        return millis;
+    }
+
+    /**
+     * Obtiene la menor cadena que puede tener un ID con el prefijo dado generado
+     * en el milisegundo indicado o después.
+     *
+     * @param prefix prefijo de los IDs
+     * @param epochMillis milisegundos desde la época Unix
+     * @return cota inferior inclusiva para búsquedas por rango
+     */
+    public static String lowerBound(String prefix, long epochMillis) {
+        return bound(prefix, epochMillis, ALPHABET[0]);
+    }
+
+    /**
+     * Obtiene la mayor cadena que puede tener un ID con el prefijo dado generado
+     * en el milisegundo indicado o antes.
+     *
+     * @param prefix prefijo de los IDs
+     * @param epochMillis milisegundos desde la época Unix
+     * @return cota superior inclusiva para búsquedas por rango
+     */
+    public static String upperBound(String prefix, long epochMillis) {
+        return bound(prefix, epochMillis, ALPHABET[ALPHABET.length - 1]);
+    }
+
+    private static String bound(String prefix, long epochMillis, char fill) {
+        char[] chars = new char[prefix.length() + 1 + ID_CHARS];
+        prefix.getChars(0, prefix.length(), chars, 0);
+        int offset = prefix.length() + 1;
+        chars[offset - 1] = '_';
+        encode(Math.max(0, epochMillis), chars, offset, TIME_CHARS);
+        for (int i = offset + TIME_CHARS; i < chars.length; i++) {
+            chars[i] = fill;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Escribe en {@code chars}, a partir de {@code offset}, el siguiente ID del carril del hilo actual.
+     */
+    private static void next(char[] chars, int offset) {
+        Lane lane = LANE.get();
+        long millis;
+        long low;
+        if (lane.shared) {
+            synchronized (lane) {
+                millis = lane.advance();
+                low = lane.low();
+            }
+        } else {
+            millis = lane.advance();
+            low = lane.low();
+        }
+        encode(millis, chars, offset, TIME_CHARS);
+        encode(low, chars, offset + TIME_CHARS, ID_CHARS - TIME_CHARS);
+    }
+
+    private static void encode(long value, char[] chars, int offset, int length) {
+        for (int i = offset + length - 1; i >= offset; i--) {
+            chars[i] = ALPHABET[(int) (value & 31)];
+            value >>>= 5;
+        }
+    }
+
+    private static int decode(char ch) {
+        for (int i = 0; i < ALPHABET.length; i++) {
+            if (ALPHABET[i] == ch) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Asigna un carril al hilo actual: uno liberado por un hilo que terminó, uno nuevo si
+     * quedan, o, si todos pertenecen a hilos vivos, uno de los compartidos.
+     */
+    private static synchronized Lane assignLane() {
+        Thread current = Thread.currentThread();
+        Lane lane = freeLanes.poll();
+        if (lane == null && createdLanes < PRIVATE_LANES) {
+            lane = new Lane(createdLanes, false);
+            privateLanes[createdLanes++] = lane;
+        }
+        if (lane == null) {
+            reclaimLanes();
+            lane = freeLanes.poll();
+        }
+        if (lane == null) {
+            return sharedLanes[(int) (current.getId() % SHARED_LANES)];
+        }
+        lane.owner = new WeakReference<>(current);
+        return lane;
+    }
+
+    /**
+     * Devuelve a la lista libre los carriles cuyo hilo ya terminó. Comprobar que el hilo no
+     * sigue vivo garantiza que sus escrituras en el carril son visibles para el nuevo dueño.
+     */
+    private static void reclaimLanes() {
+        for (Lane lane : privateLanes) {
+            if (lane.owner == null) {
+                continue;
+            }
+            Thread owner = lane.owner.get();
+            if (owner == null || !owner.isAlive()) {
+                lane.owner = null;
+                freeLanes.add(lane);
+            }
+        }
+    }
+
+    private static Lane[] createSharedLanes() {
+        Lane[] lanes = new Lane[SHARED_LANES];
+        for (int i = 0; i < SHARED_LANES; i++) {
+            lanes[i] = new Lane(PRIVATE_LANES + i, true);
+        }
+        return lanes;
+    }
+
+    private static long nodeId() {
+        Integer node = Integer.getInteger("cms.node.id");
+        if (node == null || node < 0 || node >= (1 << NODE_BITS)) {
+            return 0;
+        }
+        return node;
+    }
+
+    /**
+     * Estado de generación de un carril: último milisegundo usado y secuencia dentro de él.
+     */
+    private static final class Lane {
+        private final long prefixBits;
+        private final boolean shared;
+        /** Hilo dueño de un carril privado, o {@code null} si está libre. */
+        private WeakReference<Thread> owner;
+        private long lastMillis;
+        private long sequence;
+
+        private Lane(int lane, boolean shared) {
+            this.prefixBits = (NODE << (LANE_BITS + SEQUENCE_BITS)) | ((long) lane << SEQUENCE_BITS);
+            this.shared = shared;
+            this.lastMillis = -1;
+        }
+
+        /**
+         * Avanza la secuencia y devuelve el milisegundo del nuevo ID. Si el reloj no avanzó
+         * (o retrocedió) se sigue usando el último milisegundo; si la secuencia se agota,
+         * se toma prestado el milisegundo siguiente para mantener el orden.
+         */
+        private long advance() {
+            long now = System.currentTimeMillis();
+            if (now > lastMillis) {
+                lastMillis = now;
+                sequence = 0;
+            } else if (++sequence > SEQUENCE_MASK) {
+                lastMillis++;
+                sequence = 0;
+            }
+            return lastMillis;
+        }
+
+        private long low() {
+            return prefixBits | sequence;
+        }
     }
-}
\ No newline at end of file
+}
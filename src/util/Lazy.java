@@ -0,0 +1,70 @@
+package util;
+
+import java.util.function.Supplier;
+
+/**
+ * Valor que se construye la primera vez que se solicita.
+ * La construcción se ejecuta una sola vez aunque varios hilos pidan el valor a la vez:
+ * los demás esperan a que termine y reciben la misma instancia. Una vez construido,
+ * el acceso no bloquea.
+ *
+ * @param <T> tipo del valor
+ * @author Carlos
+ * @version 1.0
+ */
+public class Lazy<T> implements Supplier<T> {
+    private Supplier<? extends T> factory;
+    private volatile T value;
+
+    /**
+     * Construye un valor diferido.
+     *
+     * @param factory función que crea el valor; se invoca como mucho una vez
+     */
+    public Lazy(Supplier<? extends T> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Crea un valor ya construido, para usarlo donde se espera un valor diferido.
+     *
+     * @param value valor
+     * @param <T> tipo del valor
+     * @return valor diferido ya inicializado
+     */
+    public static <T> Lazy<T> of(T value) {
+        Lazy<T> lazy = new Lazy<>(null);
+        lazy.value = value;
+        return lazy;
+    }
+
+    /**
+     * Obtiene el valor, construyéndolo si aún no existe.
+     *
+     * @return el valor
+     */
+    @Override
+    public T get() {
+        T result = value;
+        if (result != null) {
+            return result;
+        }
+        synchronized (this) {
+            if (value == null) {
+                value = factory.get();
+                // La función ya no se necesita; se libera lo que pudiera retener
+                factory = null;
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Indica si el valor ya se ha construido.
+     *
+     * @return true si {@link #get()} ya devolvió el valor al menos una vez
+     */
+    public boolean isInitialized() {
+        return value != null;
+    }
+}
@@ -1,64 +1,393 @@
 package util;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Utilidad para el registro de eventos y mensajes de la aplicación.
  * Proporciona métodos para registrar mensajes de información, error, éxito y depuración.
  * Cada mensaje incluye un timestamp automático en formato yyyy-MM-dd HH:mm:ss.
- * 
+ *
+ * <p>El registro es asíncrono: el hilo que llama sólo copia el nivel, la hora y el mensaje
+ * en un evento preasignado de un búfer circular, sin bloqueos. Un hilo de fondo formatea
+ * los eventos (reutilizando el timestamp mientras no cambie el segundo) y los escribe por
+ * lotes en un archivo rotativo mediante un {@link FileChannel}, además de en la consola
+ * si el eco está activo. Sin eventos pendientes el hilo de fondo duerme, y el primer
+ * productor que publica mientras duerme lo despierta.</p>
+ *
+ * <p>Configuración mediante propiedades de sistema:</p>
+ * <ul>
+ *   <li>{@code cms.log.file}: archivo de log (por defecto {@code logs/cms.log}; vacío para no escribir archivo)</li>
+ *   <li>{@code cms.log.level}: nivel mínimo registrado (por defecto {@code DEBUG})</li>
+ *   <li>{@code cms.log.console}: eco en consola (por defecto {@code true})</li>
+ *   <li>{@code cms.log.overflow}: política con el búfer lleno, {@code DROP} o {@code BLOCK} (por defecto {@code DROP})</li>
+ * </ul>
+ *
  * @author Carlos
- * @version 1.0
+ * @version 2.0
  */
 public class Logger {
+    /**
+     * Niveles de registro, de menor a mayor severidad.
+     */
+    public enum Level {
+        DEBUG, INFO, SUCCESS, ERROR
+    }
+
+    /**
+     * Comportamiento cuando el búfer circular está lleno.
+     */
+    public enum OverflowPolicy {
+        /** Se descarta el evento y se contabiliza en {@link #getDroppedCount()}. */
+        DROP,
+        /** El hilo que llama espera a que haya espacio. */
+        BLOCK
+    }
+
     /**
      * Formateador de fecha y hora para los mensajes del log.
      * Formato: yyyy-MM-dd HH:mm:ss
      */
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int CAPACITY = 8192;
+    private static final int MASK = CAPACITY - 1;
+    private static final int MAX_BATCH = 512;
+    private static final long MAX_FILE_BYTES = 10L * 1024 * 1024;
+    private static final int MAX_ROTATED_FILES = 5;
+
+    private static final Event[] ring = new Event[CAPACITY];
+    /**
+     * Siguiente posición a reservar por los productores.
+     */
+    private static final AtomicLong tail = new AtomicLong();
+    /**
+     * Siguiente posición a consumir por el hilo escritor; sólo la modifica ese hilo.
+     */
+    private static volatile long head;
+    /**
+     * Indica que el hilo escritor no encontró eventos y va a dormir hasta que un
+     * productor lo despierte.
+     */
+    private static volatile boolean writerIdle;
+    private static final AtomicLong dropped = new AtomicLong();
+
+    private static volatile Level minLevel = parseLevel(System.getProperty("cms.log.level"));
+    private static volatile boolean consoleEnabled = !"false".equalsIgnoreCase(System.getProperty("cms.log.console"));
+    private static volatile OverflowPolicy overflowPolicy = parsePolicy(System.getProperty("cms.log.overflow"));
+
+    private static final Path logFile;
+    private static FileChannel channel;
+    private static long fileSize;
+    private static final Thread writer;
+
+    static {
+        for (int i = 0; i < CAPACITY; i++) {
+            ring[i] = new Event(i - CAPACITY);
+        }
+        String file = System.getProperty("cms.log.file", "logs/cms.log");
+        logFile = file.isEmpty() ? null : Paths.get(file);
+        openChannel();
+        writer = new Thread(Logger::drainLoop, "logger-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(Logger::flush, "logger-flush"));
+    }
 
     /**
      * Registra un mensaje de información.
-     * Imprime en la consola un mensaje con el prefijo [INFO] y timestamp actual.
      * Se utiliza para eventos normales de la aplicación.
-     * 
+     *
      * @param message Mensaje informativo a registrar
      */
     public static void info(String message) {
-        System.out.println("[INFO] " + LocalDateTime.now().format(formatter) + " - " + message);
+        log(Level.INFO, message);
     }
 
     /**
      * Registra un mensaje de error.
-     * Imprime en la consola un mensaje con el prefijo [ERROR] y timestamp actual.
      * Se utiliza para eventos de error durante la ejecución de la aplicación.
-     * 
+     *
      * @param message Mensaje de error a registrar
      */
     public static void error(String message) {
-        System.out.println("[ERROR] " + LocalDateTime.now().format(formatter) + " - " + message);
+        log(Level.ERROR, message);
     }
 
     /**
      * Registra un mensaje de éxito.
-     * Imprime en la consola un mensaje con el prefijo [SUCCESS] y timestamp actual.
      * Se utiliza para confirmar operaciones exitosas en la aplicación.
-     * 
+     *
      * @param message Mensaje de éxito a registrar
      */
     public static void success(String message) {
-        System.out.println("[SUCCESS] " + LocalDateTime.now().format(formatter) + " - " + message);
+        log(Level.SUCCESS, message);
     }
 
     /**
      * Registra un mensaje de depuración.
-     * Imprime en la consola un mensaje con el prefijo [DEBUG] y timestamp actual.
      * Se utiliza para propósitos de depuración y análisis detallado del flujo de la aplicación.
-     * 
+     *
      * @param message Mensaje de depuración a registrar
      */
     public static void debug(String message) {
-        System.out.println("[DEBUG] " + LocalDateTime.now().format(formatter) + " - " + message);
+        log(Level.DEBUG, message);
+    }
+
+    /**
+     * Encola un mensaje con el nivel indicado si supera el nivel mínimo configurado.
+     *
+     * @param level nivel del mensaje
+     * @param message mensaje a registrar
+     */
+    public static void log(Level level, String message) {
+        if (level.ordinal() < minLevel.ordinal()) {
+            return;
+        }
+        long millis = System.currentTimeMillis();
+        long sequence = claim();
+        if (sequence < 0) {
+            dropped.incrementAndGet();
+            return;
+        }
+        Event event = ring[(int) (sequence & MASK)];
+        event.level = level;
+        event.millis = millis;
+        event.message = message;
+        event.published = sequence;
+        if (writerIdle) {
+            writerIdle = false;
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Reserva una posición del búfer circular.
+     *
+     * @return posición reservada, o -1 si el búfer está lleno y la política es DROP
+     */
+    private static long claim() {
+        while (true) {
+            long current = tail.get();
+            if (current - head >= CAPACITY) {
+                if (overflowPolicy == OverflowPolicy.DROP) {
+                    return -1;
+                }
+                LockSupport.parkNanos(50_000);
+                continue;
+            }
+            if (tail.compareAndSet(current, current + 1)) {
+                return current;
+            }
+        }
+    }
+
+    /**
+     * Espera a que se escriban todos los mensajes encolados hasta el momento.
+     */
+    public static void flush() {
+        long target = tail.get();
+        while (head < target && writer.isAlive()) {
+            LockSupport.parkNanos(100_000);
+        }
+    }
+
+    /**
+     * Establece el nivel mínimo de los mensajes registrados.
+     *
+     * @param level nivel mínimo
+     */
+    public static void setLevel(Level level) {
+        minLevel = level;
+    }
+
+    /**
+     * Activa o desactiva el eco de los mensajes en la consola.
+     *
+     * @param enabled true para escribir también en la salida estándar
+     */
+    public static void setConsoleEnabled(boolean enabled) {
+        consoleEnabled = enabled;
+    }
+
+    /**
+     * Establece la política a aplicar cuando el búfer circular está lleno.
+     *
+     * @param policy política de desbordamiento
+     */
+    public static void setOverflowPolicy(OverflowPolicy policy) {
+        overflowPolicy = policy;
+    }
+
+    /**
+     * Obtiene el número de mensajes descartados por tener el búfer lleno.
+     *
+     * @return mensajes descartados desde el inicio
+     */
+    public static long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Bucle del hilo escritor: consume lotes de eventos publicados, los formatea y los escribe.
+     */
+    private static void drainLoop() {
+        StringBuilder batch = new StringBuilder(MAX_BATCH * 96);
+        TimestampCache timestamps = new TimestampCache();
+        while (true) {
+            long next = head;
+            int count = 0;
+            while (count < MAX_BATCH) {
+                Event event = ring[(int) ((next + count) & MASK)];
+                if (event.published != next + count) {
+                    break;
+                }
+                batch.append('[').append(event.level).append("] ")
+                        .append(timestamps.format(event.millis)).append(" - ")
+                        .append(event.message).append(System.lineSeparator());
+                event.message = null;
+                count++;
+            }
+            if (count == 0) {
+                // Se anuncia la espera y se vuelve a mirar antes de dormir, para no perder
+                // un evento publicado entre la comprobación y el anuncio
+                writerIdle = true;
+                if (ring[(int) (next & MASK)].published != next) {
+                    LockSupport.park();
+                }
+                writerIdle = false;
+                continue;
+            }
+            write(batch);
+            batch.setLength(0);
+            head = next + count;
+        }
+    }
+
+    private static void write(StringBuilder batch) {
+        if (consoleEnabled) {
+            System.out.print(batch);
+        }
+        if (channel == null) {
+            return;
+        }
+        ByteBuffer buffer = StandardCharsets.UTF_8.encode(CharBuffer.wrap(batch));
+        try {
+            if (fileSize + buffer.remaining() > MAX_FILE_BYTES) {
+                rotate();
+            }
+            while (buffer.hasRemaining()) {
+                fileSize += channel.write(buffer);
+            }
+        } catch (IOException e) {
+            System.err.println("[ERROR] No se pudo escribir el log en " + logFile + ": " + e.getMessage());
+            closeChannel();
+        }
+    }
+
+    /**
+     * Desplaza los archivos rotados ({@code cms.log.1} pasa a {@code cms.log.2}, etc.),
+     * renombra el archivo actual a {@code cms.log.1} y abre uno nuevo.
+     */
+    private static void rotate() throws IOException {
+        closeChannel();
+        for (int i = MAX_ROTATED_FILES - 1; i >= 1; i--) {
+            Path source = rotated(i);
+            if (Files.exists(source)) {
+                Files.move(source, rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(logFile, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+        openChannel();
+    }
+
+    private static Path rotated(int index) {
+        return logFile.resolveSibling(logFile.getFileName() + "." + index);
+    }
+
+    private static void openChannel() {
+        if (logFile == null) {
+            return;
+        }
+        try {
+            Path parent = logFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            fileSize = channel.size();
+        } catch (IOException e) {
+            System.err.println("[ERROR] No se pudo abrir el archivo de log " + logFile + ": " + e.getMessage());
+            channel = null;
+        }
+    }
+
+    private static void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // El canal se descarta igualmente
+            }
+            channel = null;
+        }
+    }
+
+    private static Level parseLevel(String value) {
+        try {
+            return value == null ? Level.DEBUG : Level.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return Level.DEBUG;
+        }
+    }
+
+    private static OverflowPolicy parsePolicy(String value) {
+        return "BLOCK".equalsIgnoreCase(value) ? OverflowPolicy.BLOCK : OverflowPolicy.DROP;
+    }
+
+    /**
+     * Evento preasignado del búfer circular. {@code published} indica la posición
+     * cuyo contenido está listo para consumirse.
+     */
+    private static final class Event {
+        private Level level;
+        private long millis;
+        private String message;
+        private volatile long published;
+
+        private Event(long published) {
+            this.published = published;
+        }
+    }
+
+    /**
+     * Caché del timestamp formateado: sólo se vuelve a formatear cuando cambia el segundo.
+     */
+    private static final class TimestampCache {
+        private final ZoneId zone = ZoneId.systemDefault();
+        private long second = Long.MIN_VALUE;
+        private String formatted;
+
+        private String format(long millis) {
+            long current = Math.floorDiv(millis, 1000);
+            if (current != second) {
+                second = current;
+                formatted = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), zone).format(formatter);
+            }
+            return formatted;
+        }
     }
 }
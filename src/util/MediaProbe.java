@@ -0,0 +1,255 @@
+package util;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import model.MediaInfo;
+
+/**
+ * Lectura de metadatos de archivos multimedia sin decodificar su contenido.
+ *
+ * <p>Para imágenes se usa el {@link ImageReader} de {@link ImageIO} que corresponda al
+ * formato y se consultan sólo las dimensiones, que el lector obtiene de la cabecera sin
+ * leer el raster. Para videos MP4/MOV se recorren los átomos de primer nivel leyendo sólo
+ * sus cabeceras de 8-16 bytes hasta encontrar {@code moov}, que se proyecta en memoria;
+ * la duración se toma de {@code moov/mvhd} y la resolución del {@code moov/trak/tkhd}
+ * de mayor superficie (las pistas de audio tienen dimensiones 0).</p>
+ *
+ * @author Carlos
+ * @version 1.0
+ */
+public class MediaProbe {
+    private static final int FTYP = atom("ftyp");
+    private static final int MOOV = atom("moov");
+    private static final int MVHD = atom("mvhd");
+    private static final int TRAK = atom("trak");
+    private static final int TKHD = atom("tkhd");
+    /**
+     * Tamaño máximo de {@code moov} que se acepta proyectar.
+     */
+    private static final long MAX_MOOV_BYTES = 256L * 1024 * 1024;
+
+    private MediaProbe() {
+    }
+
+    /**
+     * Lee los metadatos de un archivo de imagen o de video MP4/MOV.
+     *
+     * @param file archivo a examinar
+     * @return metadatos del archivo
+     * @throws IOException si el archivo no puede leerse o su formato no se reconoce
+     */
+    public static MediaInfo probe(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(8);
+            channel.read(header, 0);
+            if (header.position() == 8 && header.getInt(4) == FTYP) {
+                return probeMp4(file, channel);
+            }
+        }
+        return probeImage(file);
+    }
+
+    /**
+     * Lee las dimensiones de una imagen sin decodificar sus píxeles.
+     *
+     * @param file archivo de imagen
+     * @return metadatos de la imagen
+     * @throws IOException si el archivo no puede leerse o no es una imagen reconocida
+     */
+    public static MediaInfo probeImage(Path file) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            if (input == null) {
+                throw new IOException("No se pudo abrir " + file);
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("Formato no reconocido: " + file);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return new MediaInfo(file, reader.getFormatName().toLowerCase(Locale.ROOT),
+                        reader.getWidth(0), reader.getHeight(0), -1, Files.size(file));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Examina todos los archivos de un directorio y sus subdirectorios. Los archivos que
+     * no son imágenes ni videos reconocidos se omiten.
+     *
+     * @param directory directorio raíz
+     * @return metadatos de los archivos reconocidos, en el orden en que se recorren
+     * @throws IOException si el directorio no puede recorrerse
+     */
+    public static List<MediaInfo> probeDirectory(Path directory) throws IOException {
+        List<MediaInfo> result = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(directory)) {
+            Iterator<Path> iterator = files.filter(Files::isRegularFile).iterator();
+            while (iterator.hasNext()) {
+                Path file = iterator.next();
+                try {
+                    result.add(probe(file));
+                } catch (IOException | RuntimeException e) {
+                    Logger.debug("Archivo omitido al examinar " + directory + ": " + file.getFileName() + " (" + e.getMessage() + ")");
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Convierte una ruta o URL {@code file:} en la ruta del archivo local.
+     *
+     * @param url ruta del archivo o URL
+     * @return ruta local absoluta, o null si la URL no apunta a un archivo local
+     */
+    public static Path toLocalPath(String url) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        try {
+            if (url.startsWith("file:")) {
+                return Paths.get(URI.create(url));
+            }
+            // Cualquier otro esquema (http, https...) no es un archivo local
+            if (url.matches("^[A-Za-z][A-Za-z0-9+.-]+://.*")) {
+                return null;
+            }
+            return Paths.get(url).toAbsolutePath().normalize();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static MediaInfo probeMp4(Path file, FileChannel channel) throws IOException {
+        long size = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(16);
+        long position = 0;
+        while (position + 8 <= size) {
+            header.clear();
+            channel.read(header, position);
+            long boxSize = header.getInt(0) & 0xFFFFFFFFL;
+            int type = header.getInt(4);
+            int headerSize = 8;
+            if (boxSize == 1) {
+                boxSize = header.getLong(8);
+                headerSize = 16;
+            } else if (boxSize == 0) {
+                boxSize = size - position;
+            }
+            if (boxSize < headerSize || position + boxSize > size) {
+                break;
+            }
+            if (type == MOOV) {
+                long bodySize = boxSize - headerSize;
+                if (bodySize > MAX_MOOV_BYTES) {
+                    throw new IOException("Átomo moov demasiado grande en " + file);
+                }
+                MappedByteBuffer moov = channel.map(FileChannel.MapMode.READ_ONLY, position + headerSize, bodySize);
+                return parseMoov(file, moov, size);
+            }
+            position += boxSize;
+        }
+        throw new IOException("No se encontró el átomo moov en " + file);
+    }
+
+    private static MediaInfo parseMoov(Path file, ByteBuffer moov, long fileSize) throws IOException {
+        long durationMillis = -1;
+        int width = 0;
+        int height = 0;
+        int position = 0;
+        while (position + 8 <= moov.limit()) {
+            int boxSize = moov.getInt(position);
+            int type = moov.getInt(position + 4);
+            if (boxSize < 8 || position + boxSize > moov.limit()) {
+                break;
+            }
+            if (type == MVHD) {
+                durationMillis = parseMvhd(file, moov, position + 8, position + boxSize);
+            } else if (type == TRAK) {
+                int[] dimensions = findTkhd(moov, position + 8, position + boxSize);
+                if ((long) dimensions[0] * dimensions[1] > (long) width * height) {
+                    width = dimensions[0];
+                    height = dimensions[1];
+                }
+            }
+            position += boxSize;
+        }
+        if (durationMillis < 0) {
+            throw new IOException("No se encontró el átomo mvhd en " + file);
+        }
+        return new MediaInfo(file, "mp4", width, height, durationMillis, fileSize);
+    }
+
+    /**
+     * Lee la duración de un átomo {@code mvhd} (versiones 0 y 1) en milisegundos.
+     * El átomo debe ocupar al menos 28 bytes en la versión 0 y 40 en la versión 1.
+     */
+    private static long parseMvhd(Path file, ByteBuffer buffer, int offset, int end) throws IOException {
+        if (offset >= end) {
+            throw new IOException("Átomo mvhd truncado en " + file);
+        }
+        int version = buffer.get(offset) & 0xFF;
+        if (offset + (version == 1 ? 32 : 20) > end) {
+            throw new IOException("Átomo mvhd truncado en " + file);
+        }
+        long timescale;
+        long duration;
+        if (version == 1) {
+            timescale = buffer.getInt(offset + 20) & 0xFFFFFFFFL;
+            duration = buffer.getLong(offset + 24);
+        } else {
+            timescale = buffer.getInt(offset + 12) & 0xFFFFFFFFL;
+            duration = buffer.getInt(offset + 16) & 0xFFFFFFFFL;
+        }
+        return timescale == 0 ? 0 : duration * 1000 / timescale;
+    }
+
+    /**
+     * Busca el {@code tkhd} entre los hijos directos de un {@code trak} y devuelve su ancho
+     * y alto (enteros de un valor de punto fijo 16.16), o {0, 0} si no lo encuentra.
+     */
+    private static int[] findTkhd(ByteBuffer buffer, int start, int end) {
+        int position = start;
+        while (position + 8 <= end) {
+            int boxSize = buffer.getInt(position);
+            if (boxSize < 8 || position + boxSize > end) {
+                break;
+            }
+            if (buffer.getInt(position + 4) == TKHD) {
+                int offset = position + 8;
+                // versión/flags, fechas, pista, reservado, duración, reservado, capa, grupo, volumen, reservado, matriz
+                int dimensions = offset + ((buffer.get(offset) & 0xFF) == 1 ? 88 : 76);
+                if (dimensions + 8 > position + boxSize) {
+                    break;
+                }
+                return new int[]{buffer.getInt(dimensions) >>> 16, buffer.getInt(dimensions + 4) >>> 16};
+            }
+            position += boxSize;
+        }
+        return new int[]{0, 0};
+    }
+
+    private static int atom(String name) {
+        return ByteBuffer.wrap(name.getBytes(StandardCharsets.US_ASCII)).getInt();
+    }
+}
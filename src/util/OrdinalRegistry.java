@@ -0,0 +1,123 @@
+package util;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Asignación de ordinales enteros densos a identificadores de texto.
+ * Cada ID registrado recibe un entero en el rango {@code [0, capacity())}, lo que permite
+ * indexar arreglos primitivos y {@link java.util.BitSet} por ordinal en lugar de usar
+ * mapas con claves String.
+ *
+ * <p>Los ordinales liberados se reutilizan (en orden LIFO) para que el rango se mantenga
+ * compacto. Por eso un ordinal sólo identifica al mismo ID mientras éste siga registrado:
+ * las estructuras indexadas por ordinal deben actualizarse al liberar un ID.</p>
+ *
+ * <p>La consulta ID → ordinal no bloquea; las altas, bajas y la consulta inversa
+ * se sincronizan.</p>
+ *
+ * @author Carlos
+ * @version 1.0
+ */
+public class OrdinalRegistry {
+    private final Map<String, Integer> ordinals;
+    private String[] ids;
+    private int[] freeList;
+    private int freeCount;
+    private int capacity;
+
+    /**
+     * Construye un registro vacío.
+     */
+    public OrdinalRegistry() {
+        this.ordinals = new ConcurrentHashMap<>();
+        this.ids = new String[16];
+        this.freeList = new int[16];
+    }
+
+    /**
+     * Obtiene el ordinal de un ID, asignándole uno si aún no lo tiene.
+     * Se reutiliza el último ordinal liberado, si lo hay.
+     *
+     * @param id identificador a registrar
+     * @return ordinal del identificador
+     */
+    public synchronized int acquire(String id) {
+        Integer existing = ordinals.get(id);
+        if (existing != null) {
+            return existing;
+        }
+        int ordinal;
+        if (freeCount > 0) {
+            ordinal = freeList[--freeCount];
+        } else {
+            ordinal = capacity++;
+            if (ordinal == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+        }
+        ids[ordinal] = id;
+        ordinals.put(id, ordinal);
+        return ordinal;
+    }
+
+    /**
+     * Libera el ordinal de un ID para que pueda reutilizarse.
+     *
+     * @param id identificador a liberar
+     * @return ordinal liberado, o -1 si el ID no estaba registrado
+     */
+    public synchronized int release(String id) {
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal == null) {
+            return -1;
+        }
+        ids[ordinal] = null;
+        if (freeCount == freeList.length) {
+            freeList = Arrays.copyOf(freeList, freeList.length * 2);
+        }
+        freeList[freeCount++] = ordinal;
+        return ordinal;
+    }
+
+    /**
+     * Obtiene el ordinal de un ID registrado.
+     *
+     * @param id identificador
+     * @return ordinal, o -1 si el ID no está registrado
+     */
+    public int ordinalOf(String id) {
+        Integer ordinal = id == null ? null : ordinals.get(id);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    /**
+     * Obtiene el ID que tiene asignado un ordinal.
+     *
+     * @param ordinal ordinal a consultar
+     * @return ID registrado, o null si el ordinal está libre o fuera de rango
+     */
+    public synchronized String idOf(int ordinal) {
+        return ordinal >= 0 && ordinal < capacity ? ids[ordinal] : null;
+    }
+
+    /**
+     * Obtiene el tamaño que debe tener un arreglo indexado por ordinal:
+     * todos los ordinales asignados son menores que este valor.
+     *
+     * @return límite superior exclusivo de los ordinales
+     */
+    public synchronized int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Obtiene el número de IDs registrados.
+     *
+     * @return número de IDs con ordinal asignado
+     */
+    public int size() {
+        return ordinals.size();
+    }
+}
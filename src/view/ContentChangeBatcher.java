@@ -0,0 +1,88 @@
+package view;
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import model.ContentChangeEvent;
+import model.enums.ChangeType;
+import model.interfaces.IContentChangeListener;
+
+/**
+ * Acumula los cambios de contenidos recibidos desde cualquier hilo y los entrega
+ * agrupados al Event Dispatch Thread, una vez por ciclo de eventos.
+ * Los cambios sucesivos sobre un mismo contenido se combinan en uno solo
+ * (por ejemplo, un alta seguida de una baja se anula), de modo que el panel
+ * aplica como mucho una actualización de fila por contenido.
+ *
+ * @author Carlos
+ * @version 1.0
+ */
+public class ContentChangeBatcher implements IContentChangeListener {
+    private final Consumer<List<ContentChangeEvent>> handler;
+    private final Map<String, ContentChangeEvent> pending;
+    private boolean scheduled;
+
+    /**
+     * Construye un acumulador que entrega los cambios al manejador indicado.
+     *
+     * @param handler manejador ejecutado en el EDT con los cambios combinados, en orden de llegada
+     */
+    public ContentChangeBatcher(Consumer<List<ContentChangeEvent>> handler) {
+        this.handler = handler;
+        this.pending = new LinkedHashMap<>();
+    }
+
+    @Override
+    public void onContentChanged(ContentChangeEvent event) {
+        synchronized (pending) {
+            ContentChangeEvent merged = merge(pending.get(event.getContentId()), event);
+            if (merged == null) {
+                pending.remove(event.getContentId());
+            } else {
+                pending.put(event.getContentId(), merged);
+            }
+            if (scheduled) {
+                return;
+            }
+            scheduled = true;
+        }
+        SwingUtilities.invokeLater(this::deliver);
+    }
+
+    private void deliver() {
+        List<ContentChangeEvent> batch;
+        synchronized (pending) {
+            batch = new ArrayList<>(pending.values());
+            pending.clear();
+            scheduled = false;
+        }
+        if (!batch.isEmpty()) {
+            handler.accept(batch);
+        }
+    }
+
+    /**
+     * Combina un cambio pendiente con uno nuevo sobre el mismo contenido.
+     *
+     * @return el cambio combinado, o null si ambos se anulan
+     */
+    private static ContentChangeEvent merge(ContentChangeEvent previous, ContentChangeEvent next) {
+        if (previous == null) {
+            return next;
+        }
+        ChangeType before = previous.getType();
+        ChangeType after = next.getType();
+        if (before == ChangeType.ADDED && after == ChangeType.REMOVED) {
+            return null;
+        }
+        if (before == ChangeType.ADDED) {
+            return new ContentChangeEvent(ChangeType.ADDED, next.getContent());
+        }
+        if (before == ChangeType.REMOVED && after == ChangeType.ADDED) {
+            return new ContentChangeEvent(ChangeType.UPDATED, next.getContent());
+        }
+        return next;
+    }
+}
@@ -2,6 +2,9 @@ package view;
 
 import javax.swing.*;
 import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import util.*;
 import model.*;
 import controller.*;
@@ -145,7 +148,8 @@ public class ContentFormPanel extends JPanel {
 
     /**
      * Crea el panel específico para videos.
-     * Contiene campos para URL, duración y resolución del video.
+     * Contiene campos para URL, duración y resolución del video, y un botón
+     * para detectar la duración y la resolución a partir del archivo.
      * 
      * @return JPanel configurado para edición de videos
      */
@@ -164,6 +168,12 @@ public class ContentFormPanel extends JPanel {
         gbc.gridx = 1;
         panel.add(urlField, gbc);
 
+        JButton detectButton = new JButton("Detectar");
+        detectButton.setToolTipText("Leer duración y resolución de la cabecera del archivo");
+        detectButton.addActionListener(e -> detectMetadata("videoUrl"));
+        gbc.gridx = 2;
+        panel.add(detectButton, gbc);
+
         JLabel durationLabel = new JLabel("Duración (minutos):");
         gbc.gridx = 0;
         gbc.gridy = 1;
@@ -189,7 +199,8 @@ public class ContentFormPanel extends JPanel {
 
     /**
      * Crea el panel específico para imágenes.
-     * Contiene campos para URL, ancho y alto de la imagen.
+     * Contiene campos para URL, ancho y alto de la imagen, y un botón
+     * para detectar las dimensiones a partir del archivo.
      * 
      * @return JPanel configurado para edición de imágenes
      */
@@ -208,6 +219,12 @@ public class ContentFormPanel extends JPanel {
         gbc.gridx = 1;
         panel.add(urlField, gbc);
 
+        JButton detectButton = new JButton("Detectar");
+        detectButton.setToolTipText("Leer ancho y alto de la cabecera del archivo");
+        detectButton.addActionListener(e -> detectMetadata("imageUrl"));
+        gbc.gridx = 2;
+        panel.add(detectButton, gbc);
+
         JLabel widthLabel = new JLabel("Ancho (px):");
         gbc.gridx = 0;
         gbc.gridy = 1;
@@ -274,15 +291,19 @@ public class ContentFormPanel extends JPanel {
                     String url = getFieldValue("videoUrl");
                     int duration = Integer.parseInt(getFieldValue("videoDuration"));
                     String resolution = getFieldValue("videoResolution");
-                    contentController.createVideo(IDGenerator.generate("vid"), title, description, url, duration, resolution, author);
+                    String id = IDGenerator.generate("vid");
+                    contentController.createVideo(id, title, description, url, duration, resolution, author);
                     Logger.success("Video creado: " + title);
+                    storeMediaFile(id, url);
                 }
                 case "Imagen" -> {
                     String url = getFieldValue("imageUrl");
                     int width = Integer.parseInt(getFieldValue("imageWidth"));
                     int height = Integer.parseInt(getFieldValue("imageHeight"));
-                    contentController.createImage(IDGenerator.generate("img"), title, description, url, width, height, 0.0, author);
+                    String id = IDGenerator.generate("img");
+                    contentController.createImage(id, title, description, url, width, height, fileSizeMb(url), author);
                     Logger.success("Imagen creada: " + title);
+                    storeMediaFile(id, url);
                 }
             }
             JOptionPane.showMessageDialog(this, "Contenido guardado correctamente", "Éxito", JOptionPane.INFORMATION_MESSAGE);
@@ -294,6 +315,112 @@ public class ContentFormPanel extends JPanel {
         }
     }
 
+    /**
+     * Rellena los campos técnicos del formulario con los metadatos leídos de la cabecera
+     * del archivo indicado en el campo de URL. Si el campo está vacío, permite elegir el
+     * archivo. La lectura se hace en segundo plano y sólo admite archivos locales;
+     * si falla, se avisa al usuario.
+     * 
+     * @param urlFieldName Nombre del campo con la URL o ruta del archivo
+     */
+    private void detectMetadata(String urlFieldName) {
+        if (getFieldValue(urlFieldName).isBlank()) {
+            JFileChooser chooser = new JFileChooser();
+            if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+                return;
+            }
+            setFieldValue(urlFieldName, chooser.getSelectedFile().toURI().toString());
+        }
+        Path file = MediaProbe.toLocalPath(getFieldValue(urlFieldName));
+        if (file == null || !Files.isRegularFile(file)) {
+            JOptionPane.showMessageDialog(this, "Sólo se pueden detectar los datos de archivos locales", "Detectar", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        mainFrame.getPanelLoader().load(this, "Leyendo metadatos", () -> MediaProbe.probe(file), info -> {
+            if (urlFieldName.equals("videoUrl")) {
+                if (!info.isVideo()) {
+                    JOptionPane.showMessageDialog(this, "El archivo no es un video MP4", "Detectar", JOptionPane.WARNING_MESSAGE);
+                    return;
+                }
+                setFieldValue("videoDuration", String.valueOf(info.getDurationMinutes()));
+                if (!info.getResolutionLabel().isEmpty()) {
+                    setFieldValue("videoResolution", info.getResolutionLabel());
+                }
+            } else {
+                setFieldValue("imageWidth", String.valueOf(info.getWidth()));
+                setFieldValue("imageHeight", String.valueOf(info.getHeight()));
+            }
+            Logger.info("Metadatos detectados: " + info);
+        }, error -> JOptionPane.showMessageDialog(this,
+                "No se pudieron detectar los datos del archivo: " + error.getMessage(),
+                "Detectar", JOptionPane.WARNING_MESSAGE));
+    }
+
+    /**
+     * Copia en segundo plano el archivo local de una imagen o un video recién creado al
+     * almacén de blobs, si hay uno configurado. Las URLs remotas no se copian.
+     * 
+     * @param id ID del contenido creado
+     * @param url URL o ruta del archivo
+     */
+    private void storeMediaFile(String id, String url) {
+        Path file = MediaProbe.toLocalPath(url);
+        if (contentController.getBlobStore() == null || file == null || !Files.isRegularFile(file)) {
+            return;
+        }
+        mainFrame.getPanelLoader().load("blob:" + id, "Guardando archivo", () -> contentController.attachMedia(id, file),
+                hash -> Logger.success("Archivo guardado en el almacén: " + file.getFileName() + " (" + hash + ")"));
+    }
+
+    /**
+     * Obtiene el tamaño en MB del archivo local al que apunta una URL.
+     * 
+     * @param url URL o ruta del archivo
+     * @return tamaño en MB, o 0.0 si no es un archivo local accesible
+     */
+    private static double fileSizeMb(String url) {
+        Path file = MediaProbe.toLocalPath(url);
+        if (file == null || !Files.isRegularFile(file)) {
+            return 0.0;
+        }
+        try {
+            return Files.size(file) / (1024.0 * 1024.0);
+        } catch (IOException e) {
+            Logger.error("No se pudo leer el tamaño de " + file + ": " + e.getMessage());
+            return 0.0;
+        }
+    }
+
+    /**
+     * Establece el valor de un campo específico del panel dinámico.
+     * En las listas desplegables, agrega el valor si no está entre las opciones.
+     * 
+     * @param fieldName Nombre del campo a modificar
+     * @param value Valor a establecer
+     */
+    @SuppressWarnings("unchecked")
+    private void setFieldValue(String fieldName, String value) {
+        for (Component comp : dynamicPanel.getComponents()) {
+            if (comp instanceof JPanel) {
+                for (Component subComp : ((JPanel) comp).getComponents()) {
+                    if (!fieldName.equals(subComp.getName())) {
+                        continue;
+                    }
+                    if (subComp instanceof JTextField) {
+                        ((JTextField) subComp).setText(value);
+                    } else if (subComp instanceof JComboBox) {
+                        JComboBox<String> combo = (JComboBox<String>) subComp;
+                        if (((DefaultComboBoxModel<String>) combo.getModel()).getIndexOf(value) < 0) {
+                            combo.addItem(value);
+                        }
+                        combo.setSelectedItem(value);
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
     /**
      * Obtiene el valor de un campo específico del panel dinámico.
      * Busca el componente por nombre en el panel dinámico y retorna su valor.
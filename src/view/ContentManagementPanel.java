@@ -1,14 +1,14 @@
 package view;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import controller.*;
-import model.Content;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import controller.*;
 import util.Logger;
+import model.Content;
+import model.ContentChangeEvent;
 import model.User;
-import model.Article;
-import model.Video;
 
 /**
  * Panel para la gestión y administración del contenido en el CMS.
@@ -24,7 +24,27 @@ public class ContentManagementPanel extends JPanel {
     private final NavigationController navigationController;
     private final MainFrame mainFrame;
     private JTable contentsTable;
-    private DefaultTableModel tableModel;
+    private ContentTableModel tableModel;
+    private JButton editarButton;
+    private JButton eliminarButton;
+    /**
+     * Permisos del usuario actual sobre las filas visibles, a partir de {@code permissionsFrom}.
+     * Se calculan para toda la página visible de una vez y se invalidan al desplazarse,
+     * al cambiar las filas o al cambiar de usuario.
+     */
+    private BitSet editableRows = new BitSet();
+    private BitSet deletableRows = new BitSet();
+    private int permissionsFrom;
+    private int permissionsTo;
+    private boolean permissionsValid;
+    /**
+     * Indica si la tabla ya se cargó; desde entonces se mantiene al día con los cambios del catálogo.
+     */
+    private boolean loaded;
+    /**
+     * Cambios recibidos mientras la carga inicial está en curso; se aplican sobre su resultado.
+     */
+    private final List<ContentChangeEvent> pendingChanges = new ArrayList<>();
 
     /**
      * Construye un ContentManagementPanel con los controladores necesarios.
@@ -44,6 +64,13 @@ public class ContentManagementPanel extends JPanel {
         this.navigationController = navigationController;
         this.mainFrame = mainFrame;
         initializeUI();
+        contentController.addContentChangeListener(new ContentChangeBatcher(changes -> {
+            if (loaded) {
+                tableModel.applyChanges(changes, null);
+            } else if (mainFrame.getPanelLoader().isLoading(this)) {
+                pendingChanges.addAll(changes);
+            }
+        }));
     }
 
     /**
@@ -83,14 +110,14 @@ public class ContentManagementPanel extends JPanel {
          * Botón para editar contenido seleccionado.
          * Permite modificar un contenido existente.
          */
-        JButton editarButton = new JButton("✎ Editar");
+        editarButton = new JButton("✎ Editar");
         editarButton.addActionListener(e -> editarContenido());
 
         /**
          * Botón para eliminar contenido seleccionado.
          * Requiere confirmación y permisos adecuados.
          */
-        JButton eliminarButton = new JButton("🗑 Eliminar");
+        eliminarButton = new JButton("🗑 Eliminar");
         eliminarButton.addActionListener(e -> eliminarContenido());
 
         /**
@@ -110,22 +137,113 @@ public class ContentManagementPanel extends JPanel {
 
     /**
      * Crea el panel con la tabla de contenidos.
-     * La tabla muestra ID, tipo, título, autor, estado y fecha de creación.
+     * La tabla muestra la miniatura (para las imágenes), ID, tipo, título, autor, estado
+     * y fecha de creación. Las miniaturas se decodifican en segundo plano.
+     * Las filas tienen alto fijo, de modo que la tabla sólo consulta al modelo
+     * las filas visibles. Las filas que el usuario no puede editar se muestran en gris.
      * 
      * @return JPanel con la tabla de contenidos
      */
     private JPanel createTablePanel() {
         JPanel panel = new JPanel(new BorderLayout());
         
-        String[] columns = {"ID", "Tipo", "Título", "Autor", "Estado", "Creado"};
-        tableModel = new DefaultTableModel(columns, 0);
-        contentsTable = new JTable(tableModel);
+        tableModel = new ContentTableModel(ContentTableModel.Column.THUMBNAIL, ContentTableModel.Column.ID,
+                ContentTableModel.Column.TYPE, ContentTableModel.Column.TITLE, ContentTableModel.Column.AUTHOR,
+                ContentTableModel.Column.STATE, ContentTableModel.Column.CREATED);
+        contentsTable = new JTable(tableModel) {
+            @Override
+            public Component prepareRenderer(javax.swing.table.TableCellRenderer renderer, int row, int column) {
+                Component component = super.prepareRenderer(renderer, row, column);
+                if (!isRowSelected(row)) {
+                    component.setForeground(canEditRow(row) ? getForeground() : Color.GRAY);
+                }
+                return component;
+            }
+        };
+        contentsTable.setFillsViewportHeight(true);
+        new ThumbnailRenderer(mainFrame.getThumbnailService()).install(contentsTable);
         JScrollPane scrollPane = new JScrollPane(contentsTable);
+        scrollPane.getViewport().addChangeListener(e -> permissionsValid = false);
+        tableModel.addTableModelListener(e -> {
+            permissionsValid = false;
+            updateButtons();
+        });
+        contentsTable.getSelectionModel().addListSelectionListener(e -> updateButtons());
         
         panel.add(scrollPane, BorderLayout.CENTER);
         return panel;
     }
 
+    /**
+     * Calcula los permisos del usuario actual sobre las filas visibles, evaluando su
+     * máscara de permisos una sola vez para toda la página.
+     */
+    private void updateRowPermissions() {
+        permissionsValid = true;
+        User user = navigationController.getCurrentUser();
+        Rectangle visible = contentsTable.getVisibleRect();
+        int rowCount = tableModel.getRowCount();
+        int from = Math.max(0, contentsTable.rowAtPoint(visible.getLocation()));
+        int last = contentsTable.rowAtPoint(new Point(visible.x, visible.y + visible.height - 1));
+        int to = last < 0 ? rowCount : last + 1;
+        if (user == null || from >= to) {
+            editableRows = new BitSet();
+            deletableRows = new BitSet();
+            permissionsFrom = permissionsTo = 0;
+            return;
+        }
+        List<Content> page = tableModel.getContents(from, to);
+        editableRows = contentController.getEditableRows(user, page);
+        deletableRows = contentController.getDeletableRows(user, page);
+        permissionsFrom = from;
+        permissionsTo = to;
+    }
+
+    /**
+     * Indica si el usuario actual puede editar el contenido de una fila.
+     * 
+     * @param row índice de la fila
+     * @return true si puede editarlo
+     */
+    private boolean canEditRow(int row) {
+        return rowPermission(row, true);
+    }
+
+    /**
+     * Indica si el usuario actual puede eliminar el contenido de una fila.
+     * 
+     * @param row índice de la fila
+     * @return true si puede eliminarlo
+     */
+    private boolean canDeleteRow(int row) {
+        return rowPermission(row, false);
+    }
+
+    private boolean rowPermission(int row, boolean edit) {
+        if (!permissionsValid) {
+            updateRowPermissions();
+        }
+        if (row >= permissionsFrom && row < permissionsTo) {
+            return (edit ? editableRows : deletableRows).get(row - permissionsFrom);
+        }
+        // Fila seleccionada fuera de la página visible
+        User user = navigationController.getCurrentUser();
+        if (user == null || row < 0 || row >= tableModel.getRowCount()) {
+            return false;
+        }
+        List<Content> single = tableModel.getContents(row, row + 1);
+        return (edit ? contentController.getEditableRows(user, single) : contentController.getDeletableRows(user, single)).get(0);
+    }
+
+    /**
+     * Habilita los botones de edición y eliminación según los permisos sobre la fila seleccionada.
+     */
+    private void updateButtons() {
+        int selectedRow = contentsTable.getSelectedRow();
+        editarButton.setEnabled(selectedRow == -1 || canEditRow(selectedRow));
+        eliminarButton.setEnabled(selectedRow == -1 || canDeleteRow(selectedRow));
+    }
+
     /**
      * Edita el contenido seleccionado en la tabla.
      * Valida que haya una fila seleccionada antes de proceder.
@@ -134,7 +252,9 @@ public class ContentManagementPanel extends JPanel {
      */
     private void editarContenido() {
         int selectedRow = contentsTable.getSelectedRow();
-        if (selectedRow != -1) {
+        if (selectedRow != -1 && !canEditRow(selectedRow)) {
+            JOptionPane.showMessageDialog(this, "No tiene permisos para editar este contenido", "Error", JOptionPane.ERROR_MESSAGE);
+        } else if (selectedRow != -1) {
             JOptionPane.showMessageDialog(this, "Funcionalidad de edición en desarrollo", "Editar", JOptionPane.INFORMATION_MESSAGE);
         } else {
             JOptionPane.showMessageDialog(this, "Seleccione un contenido para editar", "Advertencia", JOptionPane.WARNING_MESSAGE);
@@ -156,17 +276,16 @@ public class ContentManagementPanel extends JPanel {
         }
 
         User currentUser = navigationController.getCurrentUser();
-        if (currentUser != null && !currentUser.hasPermission("delete_any")) {
+        if (!canDeleteRow(selectedRow)) {
             JOptionPane.showMessageDialog(this, "No tiene permisos para eliminar", "Error", JOptionPane.ERROR_MESSAGE);
             return;
         }
 
         int confirm = JOptionPane.showConfirmDialog(this, "¿Está seguro de que desea eliminar este contenido?", "Confirmar", JOptionPane.YES_NO_OPTION);
         if (confirm == JOptionPane.YES_OPTION) {
-            String contentId = (String) tableModel.getValueAt(selectedRow, 0);
-            contentController.deleteContent(contentId);
+            String contentId = tableModel.getContentAt(selectedRow).getId();
+            contentController.deleteContent(contentId, currentUser);
             Logger.success("Contenido " + contentId + " eliminado");
-            refresh();
         }
     }
 
@@ -183,36 +302,35 @@ public class ContentManagementPanel extends JPanel {
             return;
         }
 
-        String contentId = (String) tableModel.getValueAt(selectedRow, 0);
-        contentController.publishContent(contentId);
+        String contentId = tableModel.getContentAt(selectedRow).getId();
+        contentController.publishContent(contentId, navigationController.getCurrentUser());
         Logger.success("Contenido " + contentId + " publicado");
-        refresh();
     }
 
     /**
-     * Actualiza la tabla con todos los contenidos del sistema.
-     * Obtiene los contenidos del controlador y los muestra en la tabla,
-     * indicando el tipo, título, autor, estado y fecha de creación.
+     * Carga la tabla con todos los contenidos del sistema la primera vez que se muestra.
+     * El modelo lee la vista ordenada del catálogo sin copiar filas; a partir de entonces
+     * las altas, bajas y modificaciones se aplican fila a fila al recibir los cambios.
+     * La vista se obtiene en segundo plano; los cambios que lleguen mientras tanto se
+     * aplican después sobre ella (aplicarlos dos veces no altera el resultado).
      */
     public void refresh() {
-        List<Content> contents = contentController.getAllContents();
-        tableModel.setRowCount(0);
-
-        for (Content c : contents) {
-            if (c != null && c.getAuthor() != null) {
-                String type = c instanceof Article ? "Artículo" : (c instanceof Video ? "Video" : "Imagen");
-                String authorName = c.getAuthor().getUsername() != null ? c.getAuthor().getUsername() : "Desconocido";
-                String stateName = c.getState() != null ? c.getState().toString() : "Sin estado";
-                
-                tableModel.addRow(new Object[]{
-                        c.getId(),
-                        type,
-                        c.getTitle(),
-                        authorName,
-                        stateName,
-                        c.getCreatedAt()
-                });
-            }
+        // El usuario puede haber cambiado desde la última vez que se mostró
+        permissionsValid = false;
+        updateButtons();
+        contentsTable.repaint();
+        PanelLoader loader = mainFrame.getPanelLoader();
+        if (loaded || loader.isLoading(this)) {
+            return;
         }
+        pendingChanges.clear();
+        loader.load(this, "Cargando contenidos", contentController::getSortedView, contents -> {
+            tableModel.setContents(contents);
+            loaded = true;
+            if (!pendingChanges.isEmpty()) {
+                tableModel.applyChanges(new ArrayList<>(pendingChanges), null);
+                pendingChanges.clear();
+            }
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,382 @@
+package view;
+import javax.swing.table.AbstractTableModel;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import model.Content;
+import model.ContentChangeEvent;
+import model.enums.ChangeType;
+import model.enums.ContentType;
+
+/**
+ * Modelo de tabla de contenidos respaldado directamente por una vista ordenada y de
+ * sólo lectura del catálogo. No copia los datos en filas: cada celda se calcula al
+ * pedirla, por lo que JTable sólo consulta las filas que realmente pinta y el costo
+ * de memoria es una referencia por contenido.
+ *
+ * <p>Las filas se mantienen ordenadas por ID, lo que permite aplicar altas, bajas y
+ * modificaciones individuales con {@link #applyChanges(List, Predicate)} localizando
+ * la fila por búsqueda binaria y notificando sólo las filas afectadas. Los cambios no
+ * copian la vista compartida: se guardan aparte, como filas retiradas, reemplazadas e
+ * insertadas, y se combinan con la vista al leer. Sólo cuando se acumulan muchos
+ * cambios se funden en un arreglo nuevo, con lo que el costo por cambio queda acotado.</p>
+ *
+ * @author Carlos
+ * @version 1.0
+ */
+public class ContentTableModel extends AbstractTableModel {
+    /**
+     * Columnas que puede mostrar el modelo.
+     */
+    public enum Column {
+        /** Miniatura de las imágenes; el valor es el propio contenido, para {@link ThumbnailRenderer}. */
+        THUMBNAIL("Miniatura", Content.class),
+        ID("ID", String.class),
+        TYPE("Tipo", String.class),
+        TITLE("Título", String.class),
+        AUTHOR("Autor", String.class),
+        /** Estado con el nombre de la constante (PUBLISHED, DRAFT...). */
+        STATE("Estado", String.class),
+        /** Estado con su nombre descriptivo. */
+        STATE_NAME("Estado", String.class),
+        CREATED("Creado", LocalDateTime.class);
+
+        private final String header;
+        private final Class<?> type;
+
+        Column(String header, Class<?> type) {
+            this.header = header;
+            this.type = type;
+        }
+    }
+
+    private static final Comparator<Content> BY_ID = Comparator.comparing(Content::getId);
+    /**
+     * Número de cambios a partir del cual se notifica un único cambio global
+     * en lugar de un evento por fila.
+     */
+    private static final int BULK_THRESHOLD = 256;
+
+    /**
+     * Número mínimo de cambios acumulados antes de fundirlos con la vista; con vistas
+     * grandes el umbral crece con su tamaño.
+     */
+    private static final int COMPACT_THRESHOLD = 256;
+
+    private final Column[] columns;
+    /**
+     * Vista ordenada de sólo lectura sobre la que se aplican los cambios; nunca se modifica.
+     */
+    private List<Content> base;
+    /**
+     * Posiciones de {@code base}, en orden, cuyas filas ya no se muestran.
+     */
+    private final List<Integer> removed = new ArrayList<>();
+    /**
+     * Contenidos que sustituyen a filas de {@code base}, por posición.
+     */
+    private final Map<Integer, Content> replaced = new HashMap<>();
+    /**
+     * Contenidos que no están en {@code base}, ordenados por ID.
+     */
+    private final List<Content> inserted = new ArrayList<>();
+    /**
+     * Fila de cada contenido de {@code inserted}, o null si hay que recalcularla.
+     */
+    private int[] insertedRows;
+
+    /**
+     * Construye un modelo vacío con las columnas ID, tipo, título, autor, estado y fecha de creación.
+     */
+    public ContentTableModel() {
+        this(Column.ID, Column.TYPE, Column.TITLE, Column.AUTHOR, Column.STATE, Column.CREATED);
+    }
+
+    /**
+     * Construye un modelo vacío con las columnas indicadas.
+     *
+     * @param columns columnas a mostrar, en orden
+     */
+    public ContentTableModel(Column... columns) {
+        this.columns = columns.clone();
+        this.base = Collections.emptyList();
+    }
+
+    /**
+     * Reemplaza la vista que respalda el modelo y notifica a la tabla.
+     * Si la vista es la misma instancia que la actual, no se hace nada.
+     *
+     * @param contents vista ordenada de sólo lectura de los contenidos
+     */
+    public void setContents(List<Content> contents) {
+        if (contents == base && !hasChanges()) {
+            return;
+        }
+        base = contents;
+        clearChanges();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Aplica un lote de cambios de contenidos a las filas del modelo.
+     * Los contenidos agregados o modificados que cumplen el filtro se insertan o se
+     * actualizan en su posición; los eliminados o que dejan de cumplirlo se retiran.
+     * Cada cambio notifica sólo su fila, salvo en lotes grandes, que se notifican de una vez.
+     *
+     * @param changes cambios a aplicar
+     * @param filter criterio que deben cumplir las filas, o null para aceptar todos los contenidos
+     */
+    public void applyChanges(List<ContentChangeEvent> changes, Predicate<Content> filter) {
+        boolean bulk = changes.size() >= BULK_THRESHOLD;
+        for (ContentChangeEvent change : changes) {
+            Content content = change.getContent();
+            boolean keep = change.getType() != ChangeType.REMOVED && (filter == null || filter.test(content));
+            int insertedIndex = Collections.binarySearch(inserted, content, BY_ID);
+            if (insertedIndex >= 0) {
+                int row = bulk ? -1 : insertedRow(insertedIndex);
+                if (keep) {
+                    inserted.set(insertedIndex, content);
+                    if (!bulk) {
+                        fireTableRowsUpdated(row, row);
+                    }
+                } else {
+                    inserted.remove(insertedIndex);
+                    insertedRows = null;
+                    if (!bulk) {
+                        fireTableRowsDeleted(row, row);
+                    }
+                }
+                continue;
+            }
+            int baseIndex = Collections.binarySearch(base, content, BY_ID);
+            int removedIndex = baseIndex >= 0 ? Collections.binarySearch(removed, baseIndex) : -1;
+            if (baseIndex >= 0 && removedIndex < 0) {
+                int row = bulk ? -1 : baseRow(baseIndex);
+                if (keep) {
+                    replaced.put(baseIndex, content);
+                    if (!bulk) {
+                        fireTableRowsUpdated(row, row);
+                    }
+                } else {
+                    removed.add(-removedIndex - 1, baseIndex);
+                    replaced.remove(baseIndex);
+                    insertedRows = null;
+                    if (!bulk) {
+                        fireTableRowsDeleted(row, row);
+                    }
+                }
+            } else if (keep) {
+                if (baseIndex >= 0) {
+                    removed.remove(removedIndex);
+                    replaced.put(baseIndex, content);
+                } else {
+                    insertedIndex = -insertedIndex - 1;
+                    inserted.add(insertedIndex, content);
+                }
+                insertedRows = null;
+                if (!bulk) {
+                    int row = baseIndex >= 0 ? baseRow(baseIndex) : insertedRow(insertedIndex);
+                    fireTableRowsInserted(row, row);
+                }
+            }
+        }
+        if (removed.size() + replaced.size() + inserted.size() > Math.max(COMPACT_THRESHOLD, base.size() >>> 6)) {
+            compact();
+        }
+        if (bulk) {
+            fireTableDataChanged();
+        }
+    }
+
+    /**
+     * Obtiene los contenidos de un rango de filas, sin copiarlos.
+     *
+     * @param from primera fila (inclusiva)
+     * @param to última fila (exclusiva)
+     * @return vista de sólo lectura de los contenidos del rango
+     */
+    public List<Content> getContents(int from, int to) {
+        if (!hasChanges()) {
+            return Collections.unmodifiableList(base.subList(from, to));
+        }
+        if (from < 0 || to > getRowCount() || from > to) {
+            throw new IndexOutOfBoundsException("Rango de filas inválido: " + from + "-" + to);
+        }
+        List<Content> range = new ArrayList<>(to - from);
+        for (int row = from; row < to; row++) {
+            range.add(getContentAt(row));
+        }
+        return Collections.unmodifiableList(range);
+    }
+
+    /**
+     * Obtiene el contenido mostrado en una fila.
+     *
+     * @param row índice de la fila
+     * @return contenido de la fila
+     */
+    public Content getContentAt(int row) {
+        if (!hasChanges()) {
+            return base.get(row);
+        }
+        if (row < 0 || row >= getRowCount()) {
+            throw new IndexOutOfBoundsException("Fila inválida: " + row);
+        }
+        int[] rows = insertedRows();
+        int insertedIndex = Arrays.binarySearch(rows, row);
+        if (insertedIndex >= 0) {
+            return inserted.get(insertedIndex);
+        }
+        // Filas de la vista que quedan antes: la fila menos los insertados anteriores
+        int rank = row - (-insertedIndex - 1);
+        int baseIndex = baseIndexOfRank(rank);
+        Content replacement = replaced.get(baseIndex);
+        return replacement != null ? replacement : base.get(baseIndex);
+    }
+
+    @Override
+    public int getRowCount() {
+        return base.size() - removed.size() + inserted.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column].header;
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return columns[column].type;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Content c = getContentAt(row);
+        switch (columns[column]) {
+            case THUMBNAIL:
+                return c;
+            case ID:
+                return c.getId();
+            case TYPE:
+                ContentType type = c.getContentType();
+                return type != null ? type.getDisplayName() : "Desconocido";
+            case TITLE:
+                return c.getTitle();
+            case AUTHOR:
+                return c.getAuthor() != null && c.getAuthor().getUsername() != null ? c.getAuthor().getUsername() : "Desconocido";
+            case STATE:
+                return c.getState() != null ? c.getState().toString() : "Sin estado";
+            case STATE_NAME:
+                return c.getState() != null ? c.getState().getDisplayName() : "Sin estado";
+            case CREATED:
+                return c.getCreatedAt();
+            default:
+                return null;
+        }
+    }
+
+    private boolean hasChanges() {
+        return !removed.isEmpty() || !replaced.isEmpty() || !inserted.isEmpty();
+    }
+
+    private void clearChanges() {
+        removed.clear();
+        replaced.clear();
+        inserted.clear();
+        insertedRows = null;
+    }
+
+    /**
+     * Obtiene la fila de un contenido de {@code base} que sigue visible.
+     */
+    private int baseRow(int baseIndex) {
+        int removedBefore = -Collections.binarySearch(removed, baseIndex) - 1;
+        int insertedBefore = -Collections.binarySearch(inserted, base.get(baseIndex), BY_ID) - 1;
+        return baseIndex - removedBefore + insertedBefore;
+    }
+
+    /**
+     * Obtiene la fila de un contenido insertado: va detrás de los contenidos visibles
+     * de {@code base} con ID menor y de los insertados anteriores.
+     */
+    private int insertedRow(int insertedIndex) {
+        int baseBefore = -Collections.binarySearch(base, inserted.get(insertedIndex), BY_ID) - 1;
+        int removedBefore = Collections.binarySearch(removed, baseBefore);
+        if (removedBefore < 0) {
+            removedBefore = -removedBefore - 1;
+        }
+        return baseBefore - removedBefore + insertedIndex;
+    }
+
+    /**
+     * Obtiene las filas de todos los contenidos insertados, calculadas una vez por cambio.
+     */
+    private int[] insertedRows() {
+        if (insertedRows == null) {
+            int[] rows = new int[inserted.size()];
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = insertedRow(i);
+            }
+            insertedRows = rows;
+        }
+        return insertedRows;
+    }
+
+    /**
+     * Obtiene la posición en {@code base} del contenido visible número {@code rank},
+     * saltando las posiciones retiradas.
+     */
+    private int baseIndexOfRank(int rank) {
+        // Menor i tal que removed[i] - i > rank; hay i posiciones retiradas antes de la buscada
+        int low = 0;
+        int high = removed.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (removed.get(mid) - mid > rank) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return rank + low;
+    }
+
+    /**
+     * Funde los cambios acumulados con la vista en un arreglo nuevo, que pasa a ser la
+     * vista del modelo.
+     */
+    private void compact() {
+        Content[] rows = new Content[getRowCount()];
+        int next = 0;
+        int removedIndex = 0;
+        int insertedIndex = 0;
+        for (int baseIndex = 0; baseIndex < base.size(); baseIndex++) {
+            if (removedIndex < removed.size() && removed.get(removedIndex) == baseIndex) {
+                removedIndex++;
+                continue;
+            }
+            Content content = base.get(baseIndex);
+            while (insertedIndex < inserted.size() && BY_ID.compare(inserted.get(insertedIndex), content) < 0) {
+                rows[next++] = inserted.get(insertedIndex++);
+            }
+            Content replacement = replaced.get(baseIndex);
+            rows[next++] = replacement != null ? replacement : content;
+        }
+        while (insertedIndex < inserted.size()) {
+            rows[next++] = inserted.get(insertedIndex++);
+        }
+        base = Collections.unmodifiableList(Arrays.asList(rows));
+        clearChanges();
+    }
+}
@@ -3,8 +3,13 @@ import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import model.*;
+import model.enums.ChangeType;
 import model.enums.ContentState;
+import model.enums.CubeDimension;
+import model.enums.TimeField;
 import controller.*;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -16,6 +21,7 @@ import java.util.List;
  * @version 1.0
  */
 public class DashboardPanel extends JPanel {
+    private static final int RECENT_LIMIT = 5;
     private final ContentController contentController;
     private final CategoryController categoryController;
     private final NavigationController navigationController;
@@ -24,6 +30,15 @@ public class DashboardPanel extends JPanel {
     private JLabel publishedLabel;
     private JLabel draftLabel;
     private JTable recentTable;
+    /**
+     * Contenidos mostrados en la tabla de recientes, en el mismo orden que sus filas.
+     */
+    private List<Content> recentContents = new ArrayList<>();
+    /**
+     * Indica que llegaron cambios durante la carga en curso, cuyo resultado puede no
+     * incluirlos; al aplicarla se vuelve a cargar una vez.
+     */
+    private boolean stale;
 
     /**
      * Construye un DashboardPanel con los controladores necesarios.
@@ -43,6 +58,7 @@ public class DashboardPanel extends JPanel {
         this.navigationController = navigationController;
         this.mainFrame = mainFrame;
         initializeUI();
+        contentController.addContentChangeListener(new ContentChangeBatcher(this::applyChanges));
     }
 
     /**
@@ -174,34 +190,126 @@ public class DashboardPanel extends JPanel {
 
     /**
      * Actualiza todas las estadísticas del dashboard.
-     * Recalcula el total de contenidos, número de publicados y borradores.
-     * Actualiza la tabla de contenidos recientes con hasta 5 elementos.
-     * Verifica que los autores y estados no sean nulos antes de acceder a ellos.
+     * Los totales por estado se leen del cubo agregado del catálogo, sin recorrer los contenidos.
+     * La consulta se ejecuta en segundo plano; al terminar se actualizan los totales y la
+     * tabla con los 5 contenidos creados más recientemente, leídos del índice temporal.
      */
     public void refresh() {
-        List<Content> contents = contentController.getAllContents();
-        
-        totalLabel.setText(String.valueOf(contents.size()));
-        publishedLabel.setText(String.valueOf(contents.stream()
-                .filter(c -> c != null && c.getState() == ContentState.PUBLISHED)
-                .count()));
-        draftLabel.setText(String.valueOf(contents.stream()
-                .filter(c -> c != null && c.getState() == ContentState.DRAFT)
-                .count()));
+        stale = false;
+        mainFrame.getPanelLoader().load(this, "Cargando dashboard", this::loadSnapshot, this::applySnapshot);
+    }
+
+    /**
+     * Consulta los totales y los contenidos recientes. Se ejecuta fuera del EDT.
+     */
+    private Snapshot loadSnapshot() {
+        return countSnapshot(contentController.recent(RECENT_LIMIT, TimeField.CREATED));
+    }
 
+    private void applySnapshot(Snapshot snapshot) {
+        showCounters(snapshot);
+        recentContents = snapshot.recent;
         DefaultTableModel model = (DefaultTableModel) recentTable.getModel();
         model.setRowCount(0);
+        for (Content c : recentContents) {
+            model.addRow(rowOf(c));
+        }
+        if (stale) {
+            refresh();
+        }
+    }
 
-        int limit = Math.min(5, contents.size());
-        for (int i = 0; i < limit; i++) {
-            Content c = contents.get(i);
-            if (c != null && c.getAuthor() != null && c.getState() != null) {
-                String type = c instanceof Article ? "📄" : (c instanceof Video ? "🎥" : "🖼️");
-                String authorName = c.getAuthor().getUsername() != null ? c.getAuthor().getUsername() : "Desconocido";
-                String stateName = c.getState().getDisplayName() != null ? c.getState().getDisplayName() : "Sin estado";
-                
-                model.addRow(new Object[]{type, c.getTitle(), authorName, stateName, "..."});
+    /**
+     * Aplica un lote de cambios del catálogo: recalcula los totales y actualiza sólo las
+     * filas afectadas. La lista de recientes sólo se vuelve a consultar si un alta o una
+     * baja cae dentro de los contenidos mostrados. Si llegan mientras hay una carga
+     * completa en curso, no se interrumpe: se marca el dashboard como desactualizado y se
+     * vuelve a cargar una sola vez cuando esa carga se aplique.
+     *
+     * @param changes cambios combinados del catálogo
+     */
+    private void applyChanges(List<ContentChangeEvent> changes) {
+        if (mainFrame.getPanelLoader().isLoading(this)) {
+            stale = true;
+            return;
+        }
+        updateCounters();
+        DefaultTableModel model = (DefaultTableModel) recentTable.getModel();
+        boolean reload = false;
+        for (ContentChangeEvent change : changes) {
+            int row = indexOf(change.getContentId());
+            if (change.getType() == ChangeType.UPDATED && row >= 0) {
+                recentContents.set(row, change.getContent());
+                Object[] values = rowOf(change.getContent());
+                for (int column = 0; column < values.length; column++) {
+                    model.setValueAt(values[column], row, column);
+                }
+            } else if (change.getType() != ChangeType.UPDATED && affectsRecent(change, row)) {
+                reload = true;
             }
         }
+        if (reload) {
+            refresh();
+        }
+    }
+
+    private boolean affectsRecent(ContentChangeEvent change, int row) {
+        if (change.getType() == ChangeType.REMOVED) {
+            return row >= 0;
+        }
+        Content content = change.getContent();
+        return recentContents.size() < RECENT_LIMIT
+                || !content.getCreatedAt().isBefore(recentContents.get(recentContents.size() - 1).getCreatedAt());
+    }
+
+    private int indexOf(String contentId) {
+        for (int i = 0; i < recentContents.size(); i++) {
+            if (recentContents.get(i).getId().equals(contentId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void updateCounters() {
+        showCounters(countSnapshot(recentContents));
+    }
+
+    private Snapshot countSnapshot(List<Content> recent) {
+        ContentCube cube = contentController.getCube();
+        return new Snapshot(cube.count(Collections.emptyMap()),
+                cube.count(Collections.singletonMap(CubeDimension.STATE, ContentState.PUBLISHED)),
+                cube.count(Collections.singletonMap(CubeDimension.STATE, ContentState.DRAFT)),
+                recent);
+    }
+
+    private void showCounters(Snapshot snapshot) {
+        totalLabel.setText(String.valueOf(snapshot.total));
+        publishedLabel.setText(String.valueOf(snapshot.published));
+        draftLabel.setText(String.valueOf(snapshot.drafts));
+    }
+
+    private static Object[] rowOf(Content c) {
+        String type = c.getContentType() != null ? c.getContentType().getIcon() : "";
+        String authorName = c.getAuthor() != null && c.getAuthor().getUsername() != null ? c.getAuthor().getUsername() : "Desconocido";
+        String stateName = c.getState() != null && c.getState().getDisplayName() != null ? c.getState().getDisplayName() : "Sin estado";
+        return new Object[]{type, c.getTitle(), authorName, stateName, "..."};
+    }
+
+    /**
+     * Datos del dashboard consultados en segundo plano.
+     */
+    private static final class Snapshot {
+        private final long total;
+        private final long published;
+        private final long drafts;
+        private final List<Content> recent;
+
+        private Snapshot(long total, long published, long drafts, List<Content> recent) {
+            this.total = total;
+            this.published = published;
+            this.drafts = drafts;
+            this.recent = recent;
+        }
     }
-}
\ No newline at end of file
+}
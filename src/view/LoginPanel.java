@@ -155,7 +155,7 @@ public class LoginPanel extends JPanel {
         
         if (user != null) {
             // ✅ Primero establecer el usuario
-            navigationController.setCurrentUser(user);
+            navigationController.startSession(user);
             Logger.success("Usuario " + username + " autenticado con rol: " + user.getRole().getDisplayName());
             
             // ✅ Luego mostrar dashboard (que ahora creará el panel con el usuario disponible)
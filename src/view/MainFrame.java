@@ -2,25 +2,41 @@ package view;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Supplier;
 import model.*;
 import model.enums.UserRole;
 import controller.*;
+import util.Lazy;
+import util.Logger;
 
 /**
  * Frame principal de la aplicación CMS para Estudio de Grabación Audiovisual.
  * Gestiona la navegación entre diferentes paneles y la presentación de la interfaz gráfica.
  * Proporciona un contenedor central para todos los paneles de la aplicación.
+ *
+ * <p>Al arrancar sólo se construye el panel de inicio de sesión. El resto de paneles
+ * (y los controladores de contenidos que necesitan, si se entregan como {@link Supplier})
+ * se crean la primera vez que se navega a ellos. Tras el login, si la propiedad de sistema
+ * {@code cms.ui.prewarm} no es {@code false}, se preparan en segundo plano los controladores
+ * y, en turnos sucesivos del EDT, los paneles restantes.</p>
  * 
  * @author Carlos
  * @version 1.0
  */
 public class MainFrame extends JFrame {
+    /**
+     * Clave de la carga de los controladores del dashboard en {@link PanelLoader}.
+     */
+    private static final String DASHBOARD = "dashboard";
     private final NavigationController navigationController;
     private final AuthenticationController authController;
-    private final ContentController contentController;
-    private final CategoryController categoryController;
-    private final SearchController searchController;
-    private final ReportController reportController;
+    private final Supplier<ContentController> contentController;
+    private final Supplier<CategoryController> categoryController;
+    private final Supplier<SearchController> searchController;
+    private final Supplier<ReportController> reportController;
     private JPanel contentPanel;
     private CardLayout cardLayout;
     private LoginPanel loginPanel;
@@ -30,6 +46,9 @@ public class MainFrame extends JFrame {
     private SearchPanel searchPanel;
     private ReportPanel reportPanel;
     private JMenuBar menuBar;
+    private PanelLoader panelLoader;
+    private ThumbnailService thumbnailService;
+    private boolean prewarmed;
 
     /**
      * Construye un MainFrame con todos los controladores necesarios.
@@ -48,6 +67,28 @@ public class MainFrame extends JFrame {
             SearchController searchController,
             ReportController reportController,
             NavigationController navigationController) {
+        this(authController, Lazy.of(contentController), Lazy.of(categoryController),
+                Lazy.of(searchController), Lazy.of(reportController), navigationController);
+    }
+
+    /**
+     * Construye un MainFrame cuyos controladores de contenidos se obtienen al crear
+     * el primer panel que los necesita. Los proveedores deben devolver siempre la misma
+     * instancia (por ejemplo, {@link Lazy}).
+     * 
+     * @param authController Controlador de autenticación
+     * @param contentController Proveedor del controlador de contenidos
+     * @param categoryController Proveedor del controlador de categorías
+     * @param searchController Proveedor del controlador de búsqueda
+     * @param reportController Proveedor del controlador de reportes
+     * @param navigationController Controlador de navegación
+     */
+    public MainFrame(AuthenticationController authController,
+            Supplier<ContentController> contentController,
+            Supplier<CategoryController> categoryController,
+            Supplier<SearchController> searchController,
+            Supplier<ReportController> reportController,
+            NavigationController navigationController) {
         this.authController = authController;
         this.contentController = contentController;
         this.categoryController = categoryController;
@@ -67,36 +108,19 @@ public class MainFrame extends JFrame {
     /**
      * Inicializa la interfaz gráfica del frame principal.
      * Crea el panel de contenido con CardLayout para gestionar la navegación entre paneles.
-     * Inicializa todos los paneles excepto el dashboard, que se crea después del login.
-     * 
-     * <p>Paneles inicializados:
-     * <ul>
-     *   <li>LoginPanel - Panel de inicio de sesión</li>
-     *   <li>ContentManagementPanel - Gestión de contenidos</li>
-     *   <li>ContentFormPanel - Formulario de creación/edición de contenido</li>
-     *   <li>SearchPanel - Búsqueda de contenidos</li>
-     *   <li>ReportPanel - Generación de reportes</li>
-     * </ul>
-     * </p>
+     * Sólo inicializa el panel de inicio de sesión; los demás se crean al navegar a ellos.
      */
     private void initializeUI() {
         cardLayout = new CardLayout();
         contentPanel = new JPanel(cardLayout);
+        JProgressBar progressBar = new JProgressBar();
+        panelLoader = new PanelLoader(progressBar);
 
         loginPanel = new LoginPanel(authController, navigationController, this);
-        dashboardPanel = null;
-        contentManagementPanel = new ContentManagementPanel(contentController, searchController, navigationController, this);
-        contentFormPanel = new ContentFormPanel(contentController, categoryController, navigationController, this);
-        searchPanel = new SearchPanel(searchController, navigationController, this);
-        reportPanel = new ReportPanel(reportController, navigationController, this);
-
         contentPanel.add(loginPanel, "login");
-        contentPanel.add(contentManagementPanel, "content");
-        contentPanel.add(contentFormPanel, "form");
-        contentPanel.add(searchPanel, "search");
-        contentPanel.add(reportPanel, "report");
 
-        add(contentPanel);
+        add(contentPanel, BorderLayout.CENTER);
+        add(progressBar, BorderLayout.SOUTH);
         showLoginPanel();
     }
 
@@ -112,16 +136,42 @@ public class MainFrame extends JFrame {
 
     /**
      * Muestra el panel de control (dashboard).
-     * Crea el dashboard por primera vez cuando el usuario inicia sesión.
+     * La primera vez, justo después del inicio de sesión, empieza la preparación de los
+     * demás paneles y obtiene los controladores del dashboard en segundo plano (crearlos
+     * carga los datos iniciales, abre el log de auditoría y el almacén de archivos);
+     * el dashboard se crea y se muestra cuando están listos.
      * En accesos posteriores, reutiliza la instancia existente.
-     * Inicializa la barra de menú e inicializa el contenido del dashboard.
+     * Inicializa la barra de menú y solicita la carga del contenido del dashboard,
+     * que se completa en segundo plano.
      */
     public void showDashboard() {
-        if (dashboardPanel == null) {
-            dashboardPanel = new DashboardPanel(contentController, categoryController, navigationController, this);
-            contentPanel.add(dashboardPanel, "dashboard");
+        if (!requireSession()) {
+            return;
         }
-        
+        prewarm();
+        if (dashboardPanel != null) {
+            displayDashboard();
+            return;
+        }
+        if (panelLoader.isLoading(DASHBOARD)) {
+            return;
+        }
+        panelLoader.load(DASHBOARD, "Preparando panel de control", () -> {
+            categoryController.get();
+            return contentController.get();
+        }, content -> {
+            // La sesión pudo cerrarse mientras se preparaban los controladores
+            if (!navigationController.isUserLoggedIn()) {
+                return;
+            }
+            // El proveedor ya está resuelto: no vuelve a crear el controlador en el EDT
+            dashboardPanel = new DashboardPanel(content, categoryController.get(), navigationController, this);
+            contentPanel.add(dashboardPanel, "dashboard");
+            displayDashboard();
+        });
+    }
+
+    private void displayDashboard() {
         initializeMenuBar();
         dashboardPanel.refresh();
         cardLayout.show(contentPanel, "dashboard");
@@ -129,10 +179,13 @@ public class MainFrame extends JFrame {
 
     /**
      * Muestra el panel de gestión de contenidos.
-     * Actualiza la tabla de contenidos antes de mostrar el panel.
+     * La tabla se carga en segundo plano la primera vez que se muestra.
      */
     public void showContentManagement() {
-        contentManagementPanel.refresh();
+        if (!requireSession()) {
+            return;
+        }
+        contentManagementPanel().refresh();
         cardLayout.show(contentPanel, "content");
     }
 
@@ -141,7 +194,10 @@ public class MainFrame extends JFrame {
      * Reinicia los campos del formulario antes de mostrar el panel.
      */
     public void showContentForm() {
-        contentFormPanel.reset();
+        if (!requireSession()) {
+            return;
+        }
+        contentFormPanel().reset();
         cardLayout.show(contentPanel, "form");
     }
 
@@ -150,19 +206,143 @@ public class MainFrame extends JFrame {
      * Reinicia los criterios de búsqueda antes de mostrar el panel.
      */
     public void showSearch() {
-        searchPanel.reset();
+        if (!requireSession()) {
+            return;
+        }
+        searchPanel().reset();
         cardLayout.show(contentPanel, "search");
     }
 
     /**
      * Muestra el panel de generación de reportes.
-     * Actualiza los datos de los reportes antes de mostrar el panel.
+     * El reporte general se genera en segundo plano y se muestra al terminar.
      */
     public void showReports() {
-        reportPanel.refresh();
+        if (!requireSession()) {
+            return;
+        }
+        reportPanel().refresh();
         cardLayout.show(contentPanel, "report");
     }
 
+    /**
+     * Comprueba que la sesión del usuario sigue abierta. Si expiró, vuelve a la
+     * pantalla de inicio de sesión y lo avisa.
+     * 
+     * @return true si hay una sesión válida
+     */
+    private boolean requireSession() {
+        if (navigationController.isUserLoggedIn()) {
+            return true;
+        }
+        showLoginPanel();
+        JOptionPane.showMessageDialog(this, "La sesión expiró, inicie sesión de nuevo", "Sesión", JOptionPane.WARNING_MESSAGE);
+        return false;
+    }
+
+    private ContentManagementPanel contentManagementPanel() {
+        if (contentManagementPanel == null) {
+            contentManagementPanel = new ContentManagementPanel(contentController.get(), searchController.get(), navigationController, this);
+            contentPanel.add(contentManagementPanel, "content");
+        }
+        return contentManagementPanel;
+    }
+
+    private ContentFormPanel contentFormPanel() {
+        if (contentFormPanel == null) {
+            contentFormPanel = new ContentFormPanel(contentController.get(), categoryController.get(), navigationController, this);
+            contentPanel.add(contentFormPanel, "form");
+        }
+        return contentFormPanel;
+    }
+
+    private SearchPanel searchPanel() {
+        if (searchPanel == null) {
+            searchPanel = new SearchPanel(searchController.get(), contentController.get(), navigationController, this);
+            contentPanel.add(searchPanel, "search");
+        }
+        return searchPanel;
+    }
+
+    private ReportPanel reportPanel() {
+        if (reportPanel == null) {
+            reportPanel = new ReportPanel(reportController.get(), navigationController, this);
+            contentPanel.add(reportPanel, "report");
+        }
+        return reportPanel;
+    }
+
+    /**
+     * Prepara en segundo plano lo necesario para que la primera navegación a cada panel
+     * sea inmediata: construye los controladores fuera del EDT y después crea los paneles
+     * restantes, uno por turno del EDT para no retrasar la interacción del usuario.
+     * La tabla de gestión de contenidos empieza además a cargarse.
+     * Se desactiva con la propiedad de sistema {@code cms.ui.prewarm=false}.
+     */
+    private void prewarm() {
+        if (prewarmed || "false".equalsIgnoreCase(System.getProperty("cms.ui.prewarm"))) {
+            return;
+        }
+        prewarmed = true;
+        long start = System.nanoTime();
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() {
+                contentController.get();
+                categoryController.get();
+                searchController.get();
+                reportController.get();
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                Deque<Runnable> steps = new ArrayDeque<>(List.of(
+                        () -> contentManagementPanel().refresh(),
+                        MainFrame.this::contentFormPanel,
+                        MainFrame.this::searchPanel,
+                        MainFrame.this::reportPanel,
+                        () -> Logger.debug(String.format("Paneles preparados en %d ms", (System.nanoTime() - start) / 1_000_000))));
+                runInSeparateTurns(steps);
+            }
+        }.execute();
+    }
+
+    /**
+     * Ejecuta cada paso en un turno distinto del EDT, dejando pasar entre ellos los
+     * eventos del usuario que estén en cola.
+     */
+    private static void runInSeparateTurns(Deque<Runnable> steps) {
+        SwingUtilities.invokeLater(() -> {
+            steps.poll().run();
+            if (!steps.isEmpty()) {
+                runInSeparateTurns(steps);
+            }
+        });
+    }
+
+    /**
+     * Obtiene el servicio de miniaturas compartido por las tablas de contenidos,
+     * creándolo la primera vez que se pide.
+     *
+     * @return servicio de miniaturas
+     */
+    public ThumbnailService getThumbnailService() {
+        if (thumbnailService == null) {
+            thumbnailService = new ThumbnailService();
+        }
+        return thumbnailService;
+    }
+
+    /**
+     * Obtiene el cargador que ejecuta las consultas de los paneles fuera del EDT.
+     *
+     * @return cargador de datos de los paneles
+     */
+    public PanelLoader getPanelLoader() {
+        return panelLoader;
+    }
+
     /**
      * Inicializa la barra de menú de la aplicación.
      * Crea los menús de navegación, usuario y administración (si el usuario es ADMIN).
@@ -302,17 +482,60 @@ public class MainFrame extends JFrame {
         JTable table = new JTable(data, columns);
         JScrollPane scrollPane = new JScrollPane(table);
         panel.add(scrollPane, BorderLayout.CENTER);
+
+        JButton importButton = new JButton("Importar CSV");
+        importButton.addActionListener(e -> importUsers(dialog));
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        buttonPanel.add(importButton);
+        panel.add(buttonPanel, BorderLayout.SOUTH);
+
         dialog.add(panel);
         dialog.setVisible(true);
     }
 
+    /**
+     * Importa usuarios desde un archivo CSV elegido por el administrador.
+     * La importación se ejecuta en segundo plano y al terminar muestra el resumen
+     * con el número de usuarios importados y los primeros errores por fila.
+     *
+     * @param parent Diálogo desde el que se inicia la importación
+     */
+    private void importUsers(JDialog parent) {
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showOpenDialog(parent) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        java.nio.file.Path file = chooser.getSelectedFile().toPath();
+        new SwingWorker<ImportResult, Void>() {
+            @Override
+            protected ImportResult doInBackground() throws Exception {
+                return new UserImporter(authController).importCsv(file);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    ImportResult result = get();
+                    Logger.success("Importación de usuarios: " + result);
+                    StringBuilder message = new StringBuilder(result.toString());
+                    result.getErrors().stream().limit(10).forEach(error -> message.append("\n").append(error));
+                    JOptionPane.showMessageDialog(parent, message.toString(), "Importar CSV", JOptionPane.INFORMATION_MESSAGE);
+                } catch (Exception e) {
+                    Logger.error("Error al importar usuarios: " + e.getMessage());
+                    JOptionPane.showMessageDialog(parent, "No se pudo importar el archivo", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
     /**
      * Cierra la sesión del usuario actual.
-     * Establece el usuario actual en null, muestra el panel de login
+     * Cierra su token de sesión, muestra el panel de login
      * y muestra un mensaje de confirmación de cierre de sesión.
      */
     private void logout() {
-        navigationController.setCurrentUser(null);
+        panelLoader.cancel(DASHBOARD);
+        navigationController.endSession();
         showLoginPanel();
         JOptionPane.showMessageDialog(this, "Sesión cerrada correctamente", "Logout", JOptionPane.INFORMATION_MESSAGE);
     }
@@ -0,0 +1,170 @@
+package view;
+import javax.swing.JProgressBar;
+import javax.swing.SwingWorker;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import util.Logger;
+
+/**
+ * Ejecuta las consultas de datos de los paneles fuera del Event Dispatch Thread.
+ * Cada carga se identifica con una clave (normalmente el panel que la pide): si llega
+ * una carga nueva con la misma clave, la anterior se cancela y su resultado se descarta,
+ * de modo que sólo el resultado más reciente llega a la interfaz. En el EDT sólo se
+ * ejecuta la aplicación final del resultado (el cambio de modelo).
+ *
+ * <p>Mientras haya cargas pendientes se muestra una barra de progreso indeterminada.
+ * Todos los métodos deben llamarse desde el EDT.</p>
+ *
+ * @author Carlos
+ * @version 1.0
+ */
+public class PanelLoader {
+    private static final int THREADS = 2;
+
+    private final ExecutorService executor;
+    private final JProgressBar progressBar;
+    private final Map<Object, Task<?>> running;
+
+    /**
+     * Construye un cargador que indica el progreso en la barra dada.
+     *
+     * @param progressBar barra que se muestra mientras hay cargas en curso
+     */
+    public PanelLoader(JProgressBar progressBar) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "panel-loader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.progressBar = progressBar;
+        this.running = new HashMap<>();
+        progressBar.setIndeterminate(true);
+        progressBar.setStringPainted(true);
+        progressBar.setVisible(false);
+    }
+
+    /**
+     * Ejecuta una consulta en segundo plano y aplica su resultado en el EDT.
+     * Cancela la carga anterior con la misma clave, si sigue en curso.
+     *
+     * @param key clave de la carga; las cargas con la misma clave se sustituyen entre sí
+     * @param description texto mostrado en la barra de progreso
+     * @param query consulta a ejecutar fuera del EDT
+     * @param apply acción que recibe el resultado en el EDT
+     * @param <T> tipo del resultado
+     */
+    public <T> void load(Object key, String description, Callable<T> query, Consumer<T> apply) {
+        load(key, description, query, apply, null);
+    }
+
+    /**
+     * Ejecuta una consulta en segundo plano y aplica su resultado en el EDT, avisando
+     * en el EDT si la consulta falla. El error se registra igualmente en el log.
+     *
+     * @param key clave de la carga; las cargas con la misma clave se sustituyen entre sí
+     * @param description texto mostrado en la barra de progreso
+     * @param query consulta a ejecutar fuera del EDT
+     * @param apply acción que recibe el resultado en el EDT
+     * @param onError acción que recibe en el EDT la excepción de la consulta, o null
+     * @param <T> tipo del resultado
+     */
+    public <T> void load(Object key, String description, Callable<T> query, Consumer<T> apply,
+            Consumer<Throwable> onError) {
+        cancel(key);
+        Task<T> task = new Task<>(key, description, query, apply, onError);
+        running.put(key, task);
+        updateProgress();
+        executor.execute(task);
+    }
+
+    /**
+     * Cancela la carga en curso con la clave dada; su resultado no se aplicará.
+     *
+     * @param key clave de la carga
+     */
+    public void cancel(Object key) {
+        Task<?> previous = running.remove(key);
+        if (previous != null) {
+            previous.cancel(true);
+            updateProgress();
+        }
+    }
+
+    /**
+     * Indica si hay una carga en curso con la clave dada.
+     *
+     * @param key clave de la carga
+     * @return true si la carga aún no se ha aplicado ni cancelado
+     */
+    public boolean isLoading(Object key) {
+        return running.containsKey(key);
+    }
+
+    private void updateProgress() {
+        if (running.isEmpty()) {
+            progressBar.setVisible(false);
+            return;
+        }
+        Task<?> latest = null;
+        for (Task<?> task : running.values()) {
+            latest = task;
+        }
+        progressBar.setString(latest.description);
+        progressBar.setVisible(true);
+    }
+
+    /**
+     * Carga individual. Al terminar sólo aplica su resultado si sigue siendo la carga
+     * vigente para su clave.
+     */
+    private final class Task<T> extends SwingWorker<T, Void> {
+        private final Object key;
+        private final String description;
+        private final Callable<T> query;
+        private final Consumer<T> apply;
+        private final Consumer<Throwable> onError;
+
+        private Task(Object key, String description, Callable<T> query, Consumer<T> apply,
+                Consumer<Throwable> onError) {
+            this.key = key;
+            this.description = description;
+            this.query = query;
+            this.apply = apply;
+            this.onError = onError;
+        }
+
+        @Override
+        protected T doInBackground() throws Exception {
+            return query.call();
+        }
+
+        @Override
+        protected void done() {
+            if (running.get(key) != this) {
+                return;
+            }
+            running.remove(key);
+            updateProgress();
+            try {
+                apply.accept(get());
+            } catch (CancellationException e) {
+                // Sustituida por una carga más reciente
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                Logger.error("Error al cargar " + description + ": " + e.getCause().getMessage());
+                if (onError != null) {
+                    onError.accept(e.getCause());
+                }
+            }
+        }
+    }
+}
@@ -3,15 +3,19 @@ package view;
 import javax.swing.*;
 import java.awt.*;
 import java.util.*;
+import java.util.concurrent.Callable;
 import util.*;
 import controller.*;
 import model.Report;
+import model.ReportCursor;
 
 public class ReportPanel extends JPanel {
     private final ReportController reportController;
     private final NavigationController navigationController;
     private final MainFrame mainFrame;
-    private JTextArea reportArea;
+    private JList<String> reportList;
+    private JLabel rowCountLabel;
+    private Report displayedReport;
 
     public ReportPanel(ReportController reportController,
                       NavigationController navigationController,
@@ -42,16 +46,22 @@ public class ReportPanel extends JPanel {
         JButton typeButton = new JButton("Por Tipo");
         JButton authorButton = new JButton("Por Autor");
         JButton statsButton = new JButton("EstadÃ­sticas");
+        JButton distributionButton = new JButton("Distribuciones");
+        JButton tagsButton = new JButton("Etiquetas");
 
-        generalButton.addActionListener(e -> displayReport(reportController.generateGeneralReport()));
-        typeButton.addActionListener(e -> displayReport(reportController.generateReportByType()));
-        authorButton.addActionListener(e -> displayReport(reportController.generateReportByAuthor()));
-        statsButton.addActionListener(e -> displayReport(reportController.generateStatistics()));
+        generalButton.addActionListener(e -> loadReport(reportController::generateGeneralReport));
+        typeButton.addActionListener(e -> loadReport(reportController::generateReportByType));
+        authorButton.addActionListener(e -> loadReport(reportController::generateReportByAuthor));
+        statsButton.addActionListener(e -> loadReport(reportController::generateStatistics));
+        distributionButton.addActionListener(e -> loadReport(reportController::generateDistributionReport));
+        tagsButton.addActionListener(e -> loadReport(() -> reportController.generateTagCloudReport(20)));
 
         panel.add(generalButton);
         panel.add(typeButton);
         panel.add(authorButton);
         panel.add(statsButton);
+        panel.add(distributionButton);
+        panel.add(tagsButton);
 
         return panel;
     }
@@ -59,41 +69,62 @@ public class ReportPanel extends JPanel {
     private JPanel createReportPanel() {
         JPanel panel = new JPanel(new BorderLayout());
         
-        reportArea = new JTextArea();
-        reportArea.setEditable(false);
-        reportArea.setFont(new Font("Monospaced", Font.PLAIN, 11));
-        JScrollPane scrollPane = new JScrollPane(reportArea);
+        reportList = new JList<>(new CursorListModel(null));
+        reportList.setFont(new Font("Monospaced", Font.PLAIN, 11));
+        // Con alto y ancho de celda fijos, JList sólo pide al modelo las filas visibles
+        reportList.setFixedCellHeight(reportList.getFontMetrics(reportList.getFont()).getHeight() + 2);
+        reportList.setFixedCellWidth(800);
+        JScrollPane scrollPane = new JScrollPane(reportList);
         panel.add(scrollPane, BorderLayout.CENTER);
 
+        rowCountLabel = new JLabel(" ");
+        panel.add(rowCountLabel, BorderLayout.SOUTH);
+
         return panel;
     }
 
+    /**
+     * Genera un reporte en segundo plano y lo muestra al terminar. Si se pide otro reporte
+     * antes de que termine, el anterior se descarta.
+     */
+    private void loadReport(Callable<Report> generator) {
+        mainFrame.getPanelLoader().load(this, "Generando reporte", generator, this::displayReport);
+    }
+
     private void displayReport(Report report) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•\n");
-        sb.append("REPORTE: ").append(report.getType()).append("\n");
-        sb.append("Generado: ").append(report.getGeneratedAt()).append("\n");
-        sb.append("â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•\n\n");
-
-        Map<String, Object> data = report.getData();
-        for (Map.Entry<String, Object> entry : data.entrySet()) {
-            sb.append(entry.getKey()).append(": ");
-            if (entry.getValue() instanceof java.util.List) {
-                sb.append("\n");
-                for (Object item : (java.util.List<?>) entry.getValue()) {
-                    sb.append("  â€¢ ").append(item).append("\n");
-                }
-            } else {
-                sb.append(entry.getValue()).append("\n");
-            }
+        if (report == displayedReport) {
+            return;
         }
-
-        sb.append("\nâ•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•â•\n");
-        reportArea.setText(sb.toString());
+        displayedReport = report;
+        ReportCursor cursor = reportController.openCursor(report);
+        reportList.setModel(new CursorListModel(cursor));
+        reportList.ensureIndexIsVisible(0);
+        rowCountLabel.setText(cursor.getRowCount() + " filas");
         Logger.success("Reporte generado: " + report.getType());
     }
 
     public void refresh() {
-        displayReport(reportController.generateGeneralReport());
+        loadReport(reportController::generateGeneralReport);
+    }
+
+    /**
+     * Modelo de lista que lee las filas del cursor sólo cuando JList las pinta.
+     */
+    private static final class CursorListModel extends AbstractListModel<String> {
+        private final ReportCursor cursor;
+
+        private CursorListModel(ReportCursor cursor) {
+            this.cursor = cursor;
+        }
+
+        @Override
+        public int getSize() {
+            return cursor == null ? 0 : cursor.getRowCount();
+        }
+
+        @Override
+        public String getElementAt(int index) {
+            return cursor.getRow(index);
+        }
     }
 }
\ No newline at end of file
@@ -1,9 +1,11 @@
 package view;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Predicate;
 import model.*;
 import model.enums.*;
 import controller.*;
@@ -20,29 +22,49 @@ import util.*;
  */
 public class SearchPanel extends JPanel {
     private final SearchController searchController;
+    private final ContentController contentController;
     private final NavigationController navigationController;
     private final MainFrame mainFrame;
     private JTextField searchField;
     private JComboBox<String> typeFilter;
     private JComboBox<String> stateFilter;
     private JTable resultsTable;
-    private DefaultTableModel tableModel;
+    private ContentTableModel tableModel;
+    /**
+     * Criterio de la última búsqueda; los cambios del catálogo se aplican a los resultados
+     * según este criterio. Es null mientras no haya resultados mostrados.
+     */
+    private Predicate<Content> currentCriteria;
+    /**
+     * Cambios recibidos mientras una búsqueda está en curso; se aplican sobre sus resultados.
+     */
+    private final List<ContentChangeEvent> pendingChanges = new ArrayList<>();
 
     /**
      * Construye un SearchPanel con los controladores necesarios.
      * Inicializa la interfaz gráfica del panel de búsqueda.
      * 
      * @param searchController Controlador de búsqueda de contenidos
+     * @param contentController Controlador de contenidos, cuyos cambios se reflejan en los resultados
      * @param navigationController Controlador de navegación
      * @param mainFrame Frame principal de la aplicación
      */
     public SearchPanel(SearchController searchController,
+                      ContentController contentController,
                       NavigationController navigationController,
                       MainFrame mainFrame) {
         this.searchController = searchController;
+        this.contentController = contentController;
         this.navigationController = navigationController;
         this.mainFrame = mainFrame;
         initializeUI();
+        contentController.addContentChangeListener(new ContentChangeBatcher(changes -> {
+            if (mainFrame.getPanelLoader().isLoading(this)) {
+                pendingChanges.addAll(changes);
+            } else if (currentCriteria != null) {
+                tableModel.applyChanges(changes, currentCriteria);
+            }
+        }));
     }
 
     /**
@@ -113,7 +135,7 @@ public class SearchPanel extends JPanel {
 
     /**
      * Crea el panel que contiene la tabla de resultados de búsqueda.
-     * La tabla muestra tipo, título, autor, estado y fecha de creación de cada contenido.
+     * La tabla muestra miniatura, tipo, título, autor, estado y fecha de creación de cada contenido.
      * 
      * @return JPanel configurado con la tabla de resultados
      */
@@ -122,15 +144,17 @@ public class SearchPanel extends JPanel {
 
         /**
          * Columnas de la tabla de resultados.
+         * - Miniatura: Vista reducida de las imágenes locales
          * - Tipo: Tipo de contenido (Artículo, Video, Imagen)
          * - Título: Título del contenido
          * - Autor: Usuario que creó el contenido
          * - Estado: Estado actual del contenido (Publicado, Borrador)
          * - Creado: Fecha de creación del contenido
          */
-        String[] columns = {"Tipo", "Título", "Autor", "Estado", "Creado"};
-        tableModel = new DefaultTableModel(columns, 0);
+        tableModel = new ContentTableModel(ContentTableModel.Column.THUMBNAIL, ContentTableModel.Column.TYPE, ContentTableModel.Column.TITLE,
+                ContentTableModel.Column.AUTHOR, ContentTableModel.Column.STATE_NAME, ContentTableModel.Column.CREATED);
         resultsTable = new JTable(tableModel);
+        new ThumbnailRenderer(mainFrame.getThumbnailService()).install(resultsTable);
         JScrollPane scrollPane = new JScrollPane(resultsTable);
         panel.add(scrollPane, BorderLayout.CENTER);
 
@@ -141,8 +165,9 @@ public class SearchPanel extends JPanel {
      * Ejecuta la búsqueda avanzada basada en los criterios ingresados.
      * Obtiene los valores del campo de búsqueda y los filtros,
      * convierte los valores de filtro a los enums correspondientes,
-     * y ejecuta la búsqueda a través del controlador de búsqueda.
-     * Luego muestra los resultados en la tabla y registra la búsqueda en el log.
+     * y ejecuta la búsqueda a través del controlador de búsqueda en segundo plano.
+     * Al terminar muestra los resultados en la tabla y registra la búsqueda en el log;
+     * si mientras tanto se lanza otra búsqueda, los resultados de ésta se descartan.
      * 
      * <p>Criterios de búsqueda:
      * <ul>
@@ -183,49 +208,46 @@ public class SearchPanel extends JPanel {
         /**
          * Ejecuta la búsqueda avanzada y obtiene los resultados.
          */
-        List<Content> results = searchController.advancedSearch(keyword, type, state);
-        displayResults(results);
-        Logger.info("Búsqueda realizada: " + keyword + " | Resultados: " + results.size());
+        ContentType searchType = type;
+        ContentState searchState = state;
+        Predicate<Content> criteria = searchController.criteria(keyword, type, state);
+        pendingChanges.clear();
+        mainFrame.getPanelLoader().load(this, "Buscando",
+                () -> searchController.advancedSearch(keyword, searchType, searchState),
+                results -> {
+                    currentCriteria = criteria;
+                    displayResults(results);
+                    if (!pendingChanges.isEmpty()) {
+                        tableModel.applyChanges(new ArrayList<>(pendingChanges), criteria);
+                        pendingChanges.clear();
+                    }
+                    Logger.info("Búsqueda realizada: " + keyword + " | Resultados: " + results.size());
+                });
     }
 
     /**
      * Muestra los resultados de la búsqueda en la tabla.
-     * Convierte cada contenido a una fila en la tabla,
-     * extrayendo tipo, título, autor, estado y fecha de creación.
-     * Valida que los datos no sean nulos antes de acceder a ellos.
+     * El modelo lee la lista de resultados directamente, sin copiar filas;
+     * a partir de entonces los cambios del catálogo se aplican fila a fila.
      * 
-     * @param contents Lista de contenidos a mostrar en la tabla
-     * @throws NullPointerException si algún campo del contenido es null sin validación previa
+     * @param contents Lista de contenidos a mostrar en la tabla, ordenada por ID
      */
     private void displayResults(List<Content> contents) {
-        tableModel.setRowCount(0);
-
-        for (Content c : contents) {
-            if (c != null && c.getAuthor() != null && c.getState() != null) {
-                String type = c instanceof Article ? "Artículo" : (c instanceof Video ? "Video" : "Imagen");
-                String authorName = c.getAuthor().getUsername() != null ? c.getAuthor().getUsername() : "Desconocido";
-                String stateName = c.getState().getDisplayName() != null ? c.getState().getDisplayName() : "Sin estado";
-                
-                tableModel.addRow(new Object[]{
-                        type,
-                        c.getTitle(),
-                        authorName,
-                        stateName,
-                        c.getCreatedAt()
-                });
-            }
-        }
+        tableModel.setContents(contents);
     }
 
     /**
      * Reinicia todos los campos del panel de búsqueda a sus valores por defecto.
      * Limpia el campo de búsqueda, restaura los filtros a "Todos"
-     * y vacía la tabla de resultados.
+     * y vacía la tabla de resultados, descartando la búsqueda en curso si la hay.
      */
     public void reset() {
         searchField.setText("");
         typeFilter.setSelectedIndex(0);
         stateFilter.setSelectedIndex(0);
-        tableModel.setRowCount(0);
+        mainFrame.getPanelLoader().cancel(this);
+        pendingChanges.clear();
+        currentCriteria = null;
+        tableModel.setContents(Collections.emptyList());
     }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package view;
+import javax.swing.ImageIcon;
+import javax.swing.JLabel;
+import javax.swing.JTable;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.TableColumn;
+import java.awt.Component;
+import java.awt.image.BufferedImage;
+import model.Content;
+import model.Image;
+
+/**
+ * Renderizador de la columna de miniaturas de las tablas de contenidos.
+ * Para los contenidos de tipo imagen pide la miniatura al {@link ThumbnailService}
+ * sin esperar: mientras se decodifica la celda queda vacía y, cuando la miniatura
+ * está lista, se vuelve a pintar la tabla.
+ *
+ * @author Carlos
+ * @version 1.0
+ */
+public class ThumbnailRenderer extends DefaultTableCellRenderer {
+    private final ThumbnailService thumbnails;
+    private Runnable repaint = () -> { };
+
+    /**
+     * Construye un renderizador que obtiene las miniaturas del servicio indicado.
+     *
+     * @param thumbnails servicio de miniaturas
+     */
+    public ThumbnailRenderer(ThumbnailService thumbnails) {
+        this.thumbnails = thumbnails;
+        setHorizontalAlignment(JLabel.CENTER);
+    }
+
+    /**
+     * Instala el renderizador en una tabla para las columnas de clase {@link Content}
+     * y ajusta el alto de sus filas para que quepan las miniaturas.
+     *
+     * @param table tabla que muestra la columna de miniaturas
+     */
+    public void install(JTable table) {
+        // Se repinta la zona visible: la fila de la imagen puede haberse movido entretanto
+        repaint = () -> table.repaint(table.getVisibleRect());
+        table.setDefaultRenderer(Content.class, this);
+        table.setRowHeight(Math.max(table.getRowHeight(), thumbnails.getSize() + 4));
+        for (int i = 0; i < table.getColumnCount(); i++) {
+            if (table.getColumnClass(i) == Content.class) {
+                TableColumn column = table.getColumnModel().getColumn(i);
+                column.setPreferredWidth(thumbnails.getSize() + 8);
+                column.setMaxWidth(thumbnails.getSize() + 8);
+            }
+        }
+    }
+
+    @Override
+    public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                                                   boolean hasFocus, int row, int column) {
+        super.getTableCellRendererComponent(table, null, isSelected, hasFocus, row, column);
+        BufferedImage thumbnail = null;
+        if (value instanceof Image image) {
+            thumbnail = thumbnails.get(image.getImageUrl(), repaint);
+        }
+        setIcon(thumbnail == null ? null : new ImageIcon(thumbnail));
+        return this;
+    }
+}
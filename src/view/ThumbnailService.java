@@ -0,0 +1,304 @@
+package view;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.swing.SwingUtilities;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import util.Logger;
+import util.MediaProbe;
+
+/**
+ * Servicio de miniaturas de imágenes locales para las tablas de contenidos.
+ * Las imágenes se decodifican en un grupo acotado de hilos de fondo, leyendo con
+ * submuestreo de {@link ImageIO} sólo las filas y columnas necesarias para el tamaño
+ * de la miniatura, y se escalan a un tamaño fijo. Las miniaturas se guardan en una caché
+ * LRU acotada por el total de bytes de sus píxeles.
+ *
+ * <p>{@link #get(String, Runnable)} nunca bloquea: si la miniatura no está en caché
+ * encola su decodificación y devuelve null; al terminar se ejecuta el aviso en el EDT.
+ * La cola de decodificación también está acotada: si se llena, se descartan las
+ * peticiones más antiguas, que suelen corresponder a filas que ya no están visibles.</p>
+ *
+ * <p>Sólo se generan miniaturas de archivos locales (rutas o URLs {@code file:});
+ * para el resto de URLs se devuelve null sin intentar descargarlas.</p>
+ *
+ * @author Carlos
+ * @version 1.0
+ */
+public class ThumbnailService {
+    /**
+     * Lado, en píxeles, del cuadrado en el que se ajustan las miniaturas por defecto.
+     */
+    public static final int DEFAULT_SIZE = 48;
+    /**
+     * Tamaño máximo por defecto de la caché: 32 MiB de píxeles.
+     */
+    public static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+    private static final int QUEUE_CAPACITY = 128;
+
+    private final int size;
+    private final long maxBytes;
+    private final ThreadPoolExecutor executor;
+    /**
+     * Miniaturas por ruta, en orden de acceso (la menos usada primero).
+     */
+    private final LinkedHashMap<String, BufferedImage> cache;
+    private long cachedBytes;
+    /**
+     * Avisos pendientes por ruta de las decodificaciones en curso o en cola.
+     */
+    private final Map<String, List<Runnable>> pending;
+    /**
+     * Rutas que no pudieron decodificarse; no se vuelven a intentar.
+     */
+    private final Set<String> failed;
+
+    /**
+     * Construye un servicio con el tamaño y la caché por defecto y un hilo por cada
+     * dos procesadores (entre 1 y 4).
+     */
+    public ThumbnailService() {
+        this(DEFAULT_SIZE, DEFAULT_MAX_BYTES, Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2)));
+    }
+
+    /**
+     * Construye un servicio de miniaturas.
+     *
+     * @param size lado del cuadrado en el que se ajusta cada miniatura, en píxeles
+     * @param maxBytes bytes máximos de píxeles retenidos en caché
+     * @param threads número de hilos de decodificación
+     * @throws IllegalArgumentException si algún parámetro no es positivo
+     */
+    public ThumbnailService(int size, long maxBytes, int threads) {
+        if (size <= 0 || maxBytes <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("Parámetros de miniaturas no válidos");
+        }
+        this.size = size;
+        this.maxBytes = maxBytes;
+        this.cache = new LinkedHashMap<>(64, 0.75f, true);
+        this.pending = new HashMap<>();
+        this.failed = new HashSet<>();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnail-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                },
+                new DiscardOldest());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Obtiene la miniatura de una imagen si ya está en caché; si no, la encola para
+     * decodificarla y avisa cuando esté lista.
+     *
+     * @param imageUrl ruta o URL {@code file:} de la imagen
+     * @param onReady acción a ejecutar en el EDT cuando la miniatura esté en caché
+     *                (no se ejecuta si la imagen no puede leerse)
+     * @return la miniatura, o null si aún no está disponible o la imagen no es local
+     */
+    public BufferedImage get(String imageUrl, Runnable onReady) {
+        Path path = MediaProbe.toLocalPath(imageUrl);
+        if (path == null) {
+            return null;
+        }
+        String key = path.toString();
+        synchronized (this) {
+            BufferedImage thumbnail = cache.get(key);
+            if (thumbnail != null || failed.contains(key)) {
+                return thumbnail;
+            }
+            List<Runnable> callbacks = pending.get(key);
+            if (callbacks != null) {
+                if (onReady != null && !callbacks.contains(onReady)) {
+                    callbacks.add(onReady);
+                }
+                return null;
+            }
+            callbacks = new ArrayList<>(1);
+            if (onReady != null) {
+                callbacks.add(onReady);
+            }
+            pending.put(key, callbacks);
+        }
+        executor.execute(new Decode(key, path));
+        return null;
+    }
+
+    /**
+     * Obtiene el lado del cuadrado en el que se ajustan las miniaturas.
+     *
+     * @return tamaño de las miniaturas en píxeles
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Obtiene los bytes de píxeles retenidos actualmente en caché.
+     *
+     * @return bytes en caché
+     */
+    public synchronized long getCachedBytes() {
+        return cachedBytes;
+    }
+
+    /**
+     * Vacía la caché y olvida las imágenes que no pudieron leerse.
+     */
+    public synchronized void clear() {
+        cache.clear();
+        cachedBytes = 0;
+        failed.clear();
+    }
+
+    /**
+     * Decodifica una imagen leyendo sólo una de cada {@code n} filas y columnas, con
+     * {@code n} tal que la imagen leída siga siendo al menos tan grande como la miniatura,
+     * y la escala para ajustarla al tamaño de las miniaturas.
+     *
+     * @param path archivo de imagen
+     * @return miniatura
+     * @throws IOException si el archivo no puede leerse o no es una imagen reconocida
+     */
+    private BufferedImage decode(Path path) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(path.toFile())) {
+            if (input == null) {
+                throw new IOException("No se pudo abrir " + path);
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("Formato de imagen no reconocido: " + path);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                int step = Math.max(1, Math.max(width, height) / size);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return scale(reader.read(0, param));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scale(BufferedImage source) {
+        double factor = Math.min(1.0, (double) size / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * factor));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * factor));
+        BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = thumbnail.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return thumbnail;
+    }
+
+    /**
+     * Guarda una miniatura en caché, retirando las menos usadas hasta respetar el límite de bytes.
+     */
+    private synchronized List<Runnable> store(String key, BufferedImage thumbnail) {
+        BufferedImage previous = cache.put(key, thumbnail);
+        if (previous != null) {
+            cachedBytes -= bytesOf(previous);
+        }
+        cachedBytes += bytesOf(thumbnail);
+        Iterator<BufferedImage> eldest = cache.values().iterator();
+        while (cachedBytes > maxBytes && eldest.hasNext()) {
+            BufferedImage evicted = eldest.next();
+            if (evicted == thumbnail) {
+                break;
+            }
+            cachedBytes -= bytesOf(evicted);
+            eldest.remove();
+        }
+        return pending.remove(key);
+    }
+
+    private synchronized void fail(String key) {
+        failed.add(key);
+        pending.remove(key);
+    }
+
+    private static long bytesOf(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4;
+    }
+
+    /**
+     * Tarea de decodificación de una imagen.
+     */
+    private final class Decode implements Runnable {
+        private final String key;
+        private final Path path;
+
+        private Decode(String key, Path path) {
+            this.key = key;
+            this.path = path;
+        }
+
+        @Override
+        public void run() {
+            if (!Files.isRegularFile(path)) {
+                fail(key);
+                return;
+            }
+            try {
+                List<Runnable> callbacks = store(key, decode(path));
+                if (callbacks != null && !callbacks.isEmpty()) {
+                    SwingUtilities.invokeLater(() -> callbacks.forEach(Runnable::run));
+                }
+            } catch (IOException | RuntimeException e) {
+                Logger.debug("No se pudo generar la miniatura de " + path + ": " + e.getMessage());
+                fail(key);
+            }
+        }
+    }
+
+    /**
+     * Con la cola llena descarta la petición más antigua y encola la nueva. La ruta
+     * descartada deja de estar pendiente, de modo que se vuelve a pedir si se pinta otra vez.
+     */
+    private final class DiscardOldest implements RejectedExecutionHandler {
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor pool) {
+            if (pool.isShutdown()) {
+                return;
+            }
+            Runnable oldest = pool.getQueue().poll();
+            if (oldest instanceof Decode) {
+                synchronized (ThumbnailService.this) {
+                    pending.remove(((Decode) oldest).key);
+                }
+            }
+            pool.execute(task);
+        }
+    }
+}